@@ -0,0 +1,29 @@
+package com.skillsync.config;
+
+import com.skillsync.service.AIIntegrationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the OpenAI circuit breaker and bulkhead under /actuator/health.
+ * Always UP: while the circuit is open requests are served by the fallback recommender,
+ * so the application itself is still healthy.
+ */
+@Component
+public class AIUpstreamHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private AIIntegrationService aiIntegrationService;
+
+    @Override
+    public Health health() {
+        return Health.up()
+                .withDetail("circuitState", aiIntegrationService.getCircuitState().name())
+                .withDetail("failureRate", aiIntegrationService.getCircuitFailureRate())
+                .withDetail("bulkheadAvailable", aiIntegrationService.getAvailableBulkheadPermits())
+                .withDetail("bulkheadMax", aiIntegrationService.getMaxConcurrentCalls())
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.skillsync.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Adds the unique constraint on courses.course_url to PostgreSQL databases created before it existed.
+ * Schema updates try to add it too, but fail quietly when the table already holds the same URL twice,
+ * which older versions allowed (data.sql re-inserted the sample courses on every start). Duplicates are
+ * removed first, keeping the oldest row of each URL, then the constraint is added and the plain URL
+ * index it replaces is dropped. Does nothing once the constraint exists; H2 schemas are created fresh.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class CourseUrlMigration {
+
+    private static final String CONSTRAINT = "uk_courses_course_url";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void addUniqueCourseUrl() {
+        if (!isPostgres()) {
+            return;
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = ?", Integer.class, CONSTRAINT);
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        Integer removed = transactionTemplate.execute(status -> {
+            // Blocks course writes until the constraint is in place, so no duplicate slips in between
+            jdbcTemplate.execute("LOCK TABLE courses IN SHARE ROW EXCLUSIVE MODE");
+            int deleted = jdbcTemplate.update("DELETE FROM courses c USING courses kept "
+                    + "WHERE c.course_url = kept.course_url AND c.id > kept.id");
+            jdbcTemplate.execute("ALTER TABLE courses ADD CONSTRAINT " + CONSTRAINT + " UNIQUE (course_url)");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_courses_course_url");
+            return deleted;
+        });
+        System.out.println("Course URLs are now unique; removed " + removed + " duplicate courses");
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+    }
+}
@@ -0,0 +1,162 @@
+package com.skillsync.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.model.CareerRecommendation;
+import com.skillsync.util.AIResponseParser;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off backfill for databases created before recommendation lists moved to child tables.
+ * Rows that still carry the old JSON text columns get their lists copied into the child tables,
+ * then the text columns are cleared so each row is converted exactly once.
+ * Does nothing on schemas that never had the old columns.
+ * <p>
+ * Before the web server starts, it also widens child table columns created with smaller limits, since
+ * schema updates never change the type of an existing column.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class RecommendationStorageMigration implements ApplicationRunner {
+
+    // Legacy text column -> child table and value column
+    private static final String[][] LISTS = {
+            {"recommended_roles", "recommendation_roles", "role"},
+            {"missing_skills", "recommendation_missing_skills", "skill"},
+            {"recommended_courses", "recommendation_courses", "course"},
+            {"project_ideas", "recommendation_project_ideas", "idea"}
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PostConstruct
+    public void widenItemColumns() {
+        if (!isPostgres()) {
+            return;
+        }
+        for (String[] list : LISTS) {
+            List<Integer> lengths = jdbcTemplate.queryForList(
+                    "SELECT character_maximum_length FROM information_schema.columns " +
+                    "WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?",
+                    Integer.class, list[1], list[2]);
+            if (!lengths.isEmpty() && lengths.get(0) != null && lengths.get(0) < CareerRecommendation.ITEM_MAX_LENGTH) {
+                // Widening a varchar only changes the catalog; no rows are rewritten
+                jdbcTemplate.execute("ALTER TABLE " + list[1] + " ALTER COLUMN " + list[2] + " TYPE varchar(" +
+                        CareerRecommendation.ITEM_MAX_LENGTH + ")");
+                System.out.println("Widened " + list[1] + "." + list[2] + " to " +
+                        CareerRecommendation.ITEM_MAX_LENGTH + " characters");
+            }
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!legacyColumnsPresent()) {
+            return;
+        }
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, recommended_roles, missing_skills, recommended_courses, project_ideas " +
+                "FROM career_recommendations WHERE recommended_roles IS NOT NULL OR missing_skills IS NOT NULL " +
+                "OR recommended_courses IS NOT NULL OR project_ideas IS NOT NULL");
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        for (Map<String, Object> row : rows) {
+            transactionTemplate.executeWithoutResult(status -> migrate(row));
+        }
+        System.out.println("Moved recommendation lists of " + rows.size() + " rows into child tables");
+    }
+
+    private void migrate(Map<String, Object> row) {
+        Long id = ((Number) row.get("id")).longValue();
+        for (String[] list : LISTS) {
+            List<String> items = readList((String) row.get(list[0]));
+            List<Object[]> batch = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                batch.add(new Object[]{id, i, items.get(i)});
+            }
+            jdbcTemplate.update("DELETE FROM " + list[1] + " WHERE recommendation_id = ?", id);
+            jdbcTemplate.batchUpdate("INSERT INTO " + list[1] + " (recommendation_id, item_index, " + list[2] +
+                    ") VALUES (?, ?, ?)", batch);
+        }
+        jdbcTemplate.update("UPDATE career_recommendations SET recommended_roles = NULL, missing_skills = NULL, " +
+                "recommended_courses = NULL, project_ideas = NULL WHERE id = ?", id);
+    }
+
+    /**
+     * Reads a stored JSON array. Object items (kept verbatim by older versions) are flattened
+     * to their scalar values, matching how new AI responses are decoded.
+     */
+    private List<String> readList(String json) {
+        List<String> items = new ArrayList<>();
+        if (json == null || json.isBlank()) {
+            return items;
+        }
+        try {
+            for (JsonNode item : objectMapper.readTree(json)) {
+                String text = item.isValueNode() ? item.asText() : flatten(item);
+                if (!item.isNull() && !text.isBlank()) {
+                    items.add(AIResponseParser.truncate(text.trim(), CareerRecommendation.ITEM_MAX_LENGTH));
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Skipping unreadable recommendation list: " + e.getMessage());
+        }
+        return items;
+    }
+
+    private String flatten(JsonNode node) {
+        List<String> values = new ArrayList<>();
+        node.elements().forEachRemaining(value -> {
+            if (value.isValueNode() && !value.isNull()) {
+                values.add(value.asText());
+            }
+        });
+        return String.join(" - ", values);
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+    }
+
+    private boolean legacyColumnsPresent() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Identifier case differs between databases (H2 upper, PostgreSQL lower)
+            for (String table : new String[]{"career_recommendations", "CAREER_RECOMMENDATIONS"}) {
+                try (ResultSet columns = metaData.getColumns(null, null, table, null)) {
+                    while (columns.next()) {
+                        if ("recommended_roles".equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+}
@@ -0,0 +1,113 @@
+package com.skillsync.config;
+
+import com.skillsync.model.IdGeneration;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Moves PostgreSQL tables created with identity (or serial) id columns onto the pooled sequences the
+ * entities now use (see {@link IdGeneration}), keeping every existing id. The id column's identity and
+ * default are dropped, since ids now always come from the application. Idempotent: tables already
+ * converted are only checked.
+ * <p>
+ * On every database, each sequence is then moved past the highest id in use, which covers the explicit
+ * ids of the data.sql rows. Runs once Hibernate has updated the schema and data.sql has run, before the
+ * web server takes requests, so no insert can draw an id from a sequence that has not been moved yet.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@DependsOnDatabaseInitialization
+public class SequenceIdMigration {
+
+    private static final String[] TABLES = {
+            "users", "user_profiles", "skills", "courses", "career_recommendations", "project_ideas"
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        if (!isPostgres()) {
+            for (String table : TABLES) {
+                moveH2Sequence(table);
+            }
+            return;
+        }
+        for (String table : TABLES) {
+            String sequence = table + "_seq";
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " START WITH 1 INCREMENT BY "
+                    + IdGeneration.ALLOCATION_SIZE);
+
+            List<Map<String, Object>> column = jdbcTemplate.queryForList(
+                    "SELECT is_identity, column_default FROM information_schema.columns " +
+                    "WHERE table_schema = current_schema() AND table_name = ? AND column_name = 'id'", table);
+            if (column.isEmpty()) {
+                continue;
+            }
+            if ("YES".equals(column.get(0).get("is_identity")) || column.get(0).get("column_default") != null) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP DEFAULT");
+                System.out.println("Table " + table + " now takes its ids from " + sequence);
+            }
+
+            // The next nextval ends the next block; that block must start above every id in use.
+            // Until the first nextval, last_value is the value it will return rather than the last one
+            List<Long> moved = jdbcTemplate.queryForList(
+                    "SELECT setval('" + sequence + "', max_id) FROM (SELECT MAX(id) AS max_id FROM " + table + ") ids, "
+                    + sequence + " s WHERE max_id >= GREATEST(1, CASE WHEN s.is_called "
+                    + "THEN s.last_value + " + IdGeneration.ALLOCATION_SIZE + " ELSE s.last_value END - "
+                    + (IdGeneration.ALLOCATION_SIZE - 1) + ")", Long.class);
+            if (!moved.isEmpty()) {
+                System.out.println("Moved " + sequence + " past the existing ids of " + table + " (" + moved.get(0) + ")");
+            }
+        }
+
+        // An earlier version declared the nextval default in the id column definition, which schema
+        // updates also copied onto the foreign key columns referencing the id
+        String ownDefaults = Arrays.stream(TABLES)
+                .map(table -> "'nextval(''" + table + "_seq''::regclass)'")
+                .collect(Collectors.joining(", "));
+        List<Map<String, Object>> leftovers = jdbcTemplate.queryForList(
+                "SELECT table_name, column_name FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND column_default IN (" + ownDefaults + ")");
+        for (Map<String, Object> column : leftovers) {
+            jdbcTemplate.execute("ALTER TABLE " + column.get("table_name") + " ALTER COLUMN "
+                    + column.get("column_name") + " DROP DEFAULT");
+            System.out.println("Dropped the id default of " + column.get("table_name") + "."
+                    + column.get("column_name"));
+        }
+    }
+
+    /**
+     * H2 schemas are created fresh, so only the rows of data.sql can be ahead of the sequence.
+     */
+    private void moveH2Sequence(String table) {
+        String sequence = table + "_seq";
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        Long next = jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                        + "WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME = ?",
+                Long.class, sequence.toUpperCase(Locale.ROOT));
+        // The next block ends at the next value, so it must start above the highest id
+        if (maxId != null && next != null && next - IdGeneration.ALLOCATION_SIZE < maxId) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH "
+                    + (maxId + IdGeneration.ALLOCATION_SIZE));
+        }
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+    }
+}
@@ -1,16 +1,34 @@
 package com.skillsync.controller;
 
+import com.skillsync.dto.BatchRecommendationRequest;
+import com.skillsync.dto.BatchRecommendationStatusDto;
 import com.skillsync.dto.CourseDto;
+import com.skillsync.dto.CourseImportResultDto;
 import com.skillsync.dto.SkillDto;
+import com.skillsync.exception.ApiException;
 import com.skillsync.model.Skill;
 import com.skillsync.repository.SkillRepository;
+import com.skillsync.service.AIResponseCache;
+import com.skillsync.service.BatchRecommendationService;
+import com.skillsync.service.CourseImportService;
 import com.skillsync.service.CourseService;
+import com.skillsync.service.LatestRecommendationCache;
+import com.skillsync.service.RecommendationArchiveService;
+import com.skillsync.service.SkillDictionary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -22,24 +40,72 @@ public class AdminController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private CourseImportService courseImportService;
+
     @Autowired
     private SkillRepository skillRepository;
 
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Autowired
+    private AIResponseCache aiResponseCache;
+
+    @Autowired
+    private BatchRecommendationService batchRecommendationService;
+
+    @Autowired
+    private LatestRecommendationCache latestRecommendationCache;
+
+    @Autowired
+    private RecommendationArchiveService recommendationArchiveService;
+
     @PostMapping("/courses")
     public ResponseEntity<CourseDto> createCourse(@RequestBody CourseDto courseDto) {
         CourseDto created = courseService.createCourse(courseDto);
         return ResponseEntity.ok(created);
     }
 
+    /**
+     * Bulk import from a CSV (header row required) or NDJSON request body, upserting by course URL.
+     * The format follows the Content-Type unless {@code format} is given.
+     */
+    @PostMapping(value = "/courses/import", consumes = {"text/csv", "application/x-ndjson", "application/jsonl",
+            MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<CourseImportResultDto> importCourses(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(required = false) String format,
+            InputStream body) {
+        CourseImportService.Format importFormat;
+        if (format != null) {
+            try {
+                importFormat = CourseImportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "Unknown format: " + format + " (use csv or ndjson)");
+            }
+        } else {
+            importFormat = contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")
+                    ? CourseImportService.Format.CSV : CourseImportService.Format.NDJSON;
+        }
+        return ResponseEntity.ok(courseImportService.importCourses(body, importFormat));
+    }
+
     @PostMapping("/skills")
     public ResponseEntity<SkillDto> createSkill(@RequestBody SkillDto skillDto) {
+        SkillDictionary.Entry existing = skillDictionary.resolve(skillDto.getName());
+        if (existing != null) {
+            throw new ApiException(HttpStatus.CONFLICT, "Skill already exists as '" + existing.name() + "'");
+        }
+
         Skill skill = new Skill();
-        skill.setName(skillDto.getName());
+        skill.setName(skillDictionary.canonicalName(skillDto.getName()));
         skill.setDescription(skillDto.getDescription());
         skill.setCategory(skillDto.getCategory());
         skill.setDifficultyLevel(skillDto.getDifficultyLevel());
 
         Skill saved = skillRepository.save(skill);
+        skillDictionary.register(saved);
 
         SkillDto response = new SkillDto();
         response.setId(saved.getId());
@@ -67,4 +133,42 @@ public class AdminController {
 
         return ResponseEntity.ok(skills);
     }
+
+    @PostMapping("/recommendations/batch")
+    public ResponseEntity<BatchRecommendationStatusDto> generateRecommendationsBatch(
+            @RequestBody BatchRecommendationRequest request) {
+        BatchRecommendationStatusDto batch = batchRecommendationService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/admin/recommendations/batch/" + batch.getBatchId()))
+                .body(batch);
+    }
+
+    @GetMapping("/recommendations/batch/{batchId}")
+    public ResponseEntity<BatchRecommendationStatusDto> getRecommendationsBatch(@PathVariable String batchId) {
+        return ResponseEntity.ok(batchRecommendationService.getStatus(batchId));
+    }
+
+    @GetMapping("/ai-cache")
+    public ResponseEntity<Map<String, Object>> getAiCacheStats() {
+        return ResponseEntity.ok(aiResponseCache.getStats());
+    }
+
+    @DeleteMapping("/ai-cache")
+    public ResponseEntity<Map<String, Object>> flushAiCache() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("flushed", aiResponseCache.clear());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/recommendations/compact")
+    public ResponseEntity<Map<String, Object>> compactRecommendations() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("archived", recommendationArchiveService.compact());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/latest-recommendation-cache")
+    public ResponseEntity<Map<String, Object>> getLatestRecommendationCacheStats() {
+        return ResponseEntity.ok(latestRecommendationCache.getStats());
+    }
 }
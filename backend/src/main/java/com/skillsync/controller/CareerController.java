@@ -1,12 +1,20 @@
 package com.skillsync.controller;
 
 import com.skillsync.dto.CareerRecommendationDto;
+import com.skillsync.dto.CourseMatchDto;
+import com.skillsync.dto.RecommendationHistoryPageDto;
+import com.skillsync.dto.RecommendationJobDto;
 import com.skillsync.service.CareerService;
+import com.skillsync.service.RecommendationJobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -17,11 +25,34 @@ public class CareerController {
     @Autowired
     private CareerService careerService;
 
+    @Autowired
+    private RecommendationJobService recommendationJobService;
+
     @PostMapping("/recommendations/{userId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<CareerRecommendationDto> generateRecommendation(@PathVariable Long userId) {
-        CareerRecommendationDto recommendation = careerService.generateRecommendation(userId);
-        return ResponseEntity.ok(recommendation);
+    public ResponseEntity<RecommendationJobDto> generateRecommendation(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean force) {
+        RecommendationJobDto job = recommendationJobService.submit(userId, force);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/career/recommendations/" + userId + "/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @PostMapping(value = "/recommendations/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Flux<ServerSentEvent<Object>> streamRecommendation(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean force) {
+        return recommendationJobService.streamRecommendation(userId, force);
+    }
+
+    @GetMapping("/recommendations/{userId}/jobs/{jobId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<RecommendationJobDto> getRecommendationJob(@PathVariable Long userId,
+                                                                     @PathVariable String jobId) {
+        RecommendationJobDto job = recommendationJobService.getJob(userId, jobId);
+        return ResponseEntity.ok(job);
     }
 
     @GetMapping("/recommendations/{userId}/latest")
@@ -31,10 +62,33 @@ public class CareerController {
         return ResponseEntity.ok(recommendation);
     }
 
+    /**
+     * Catalog courses for the missing skills of the latest recommendation. {@code level} is the
+     * difficulty to favour (Beginner by default).
+     */
+    @GetMapping("/recommendations/{userId}/courses")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<CourseMatchDto>> getMatchedCourses(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String level,
+            @RequestParam(defaultValue = "6") int limit) {
+        return ResponseEntity.ok(careerService.getMatchedCourses(userId, level, limit));
+    }
+
     @GetMapping("/recommendations/{userId}/all")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<List<CareerRecommendationDto>> getAllRecommendations(@PathVariable Long userId) {
         List<CareerRecommendationDto> recommendations = careerService.getAllRecommendations(userId);
         return ResponseEntity.ok(recommendations);
     }
+
+    @GetMapping("/recommendations/{userId}/history")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<RecommendationHistoryPageDto> getRecommendationHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        RecommendationHistoryPageDto page = careerService.getRecommendationHistory(userId, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
 }
@@ -2,10 +2,15 @@ package com.skillsync.controller;
 
 import com.skillsync.dto.ProfileDto;
 import com.skillsync.service.ProfileService;
+import com.skillsync.service.ResumeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/profile")
@@ -15,6 +20,9 @@ public class ProfileController {
     @Autowired
     private ProfileService profileService;
 
+    @Autowired
+    private ResumeService resumeService;
+
     @PostMapping("/user/{userId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ProfileDto> createOrUpdateProfile(
@@ -24,6 +32,29 @@ public class ProfileController {
         return ResponseEntity.ok(created);
     }
 
+    /**
+     * Updates only the fields present in the body; omitted (null) fields keep their values.
+     */
+    @PatchMapping("/user/{userId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ProfileDto> patchProfile(
+            @PathVariable Long userId,
+            @RequestBody ProfileDto profileDto) {
+        return ResponseEntity.ok(profileService.patchProfile(userId, profileDto));
+    }
+
+    /**
+     * Extracts a pre-filled profile from a PDF or plain-text resume. Nothing is saved; the client
+     * reviews the result and submits it as a normal profile update.
+     */
+    @PostMapping(value = "/user/{userId}/resume", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public CompletableFuture<ResponseEntity<ProfileDto>> parseResume(
+            @PathVariable Long userId,
+            @RequestParam("file") MultipartFile file) {
+        return resumeService.parseResume(userId, file).thenApply(ResponseEntity::ok);
+    }
+
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ProfileDto> getProfileByUserId(@PathVariable Long userId) {
@@ -0,0 +1,27 @@
+package com.skillsync.dto;
+
+import java.util.List;
+
+/**
+ * Recommendations decoded from the AI (or the fallback). Lists are never null.
+ */
+public record AIRecommendation(List<String> recommendedRoles,
+                               List<String> missingSkills,
+                               List<String> recommendedCourses,
+                               List<String> projectIdeas,
+                               String insights,
+                               Source source) {
+
+    public enum Source {
+        AI,
+        PARTIAL, // AI output that was cut short; what could be read was kept
+        FALLBACK
+    }
+
+    public AIRecommendation {
+        recommendedRoles = recommendedRoles != null ? List.copyOf(recommendedRoles) : List.of();
+        missingSkills = missingSkills != null ? List.copyOf(missingSkills) : List.of();
+        recommendedCourses = recommendedCourses != null ? List.copyOf(recommendedCourses) : List.of();
+        projectIdeas = projectIdeas != null ? List.copyOf(projectIdeas) : List.of();
+    }
+}
@@ -0,0 +1,17 @@
+package com.skillsync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRecommendationRequest {
+    private List<Long> userIds;
+    private LocalDateTime changedSince; // Also include every user whose profile changed after this time
+    private boolean force; // Regenerate even when a profile is unchanged since its latest recommendation
+}
@@ -0,0 +1,39 @@
+package com.skillsync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRecommendationStatusDto {
+    private String batchId;
+    private Status status;
+    private int total;
+    private int succeeded; // Answered by the AI, or unchanged since the latest recommendation
+    private int fallback; // Saved, but from a mock or partial answer because the AI call did not complete
+    private int failed;
+    private List<UserOutcome> results; // One entry per processed user
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserOutcome {
+        private Long userId;
+        private boolean success;
+        private Long recommendationId;
+        private AIRecommendation.Source source; // Null when the latest recommendation was kept
+        private String error;
+    }
+}
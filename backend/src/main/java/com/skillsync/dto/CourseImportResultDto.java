@@ -0,0 +1,28 @@
+package com.skillsync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseImportResultDto {
+    private long rows; // Data rows read, excluding the CSV header
+    private long inserted;
+    private long updated;
+    private long failed;
+    private List<RowError> errors; // The first failures, in input order
+    private boolean errorsTruncated; // More rows failed than are listed
+    private long durationMs;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line; // Line number in the uploaded file, 0 when the whole import stopped
+        private String message;
+    }
+}
@@ -0,0 +1,17 @@
+package com.skillsync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseMatchDto {
+    private CourseDto course;
+    private List<String> matchedSkills; // Missing skills the course teaches
+    private Double coverage; // Share of the missing skills covered, 0 to 1
+    private Double score;
+}
@@ -0,0 +1,18 @@
+package com.skillsync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoursePageDto {
+    private List<CourseDto> items;
+    private int page; // Zero-based
+    private int size;
+    private long totalElements; // Courses matching the filters
+    private boolean hasNext;
+}
@@ -0,0 +1,15 @@
+package com.skillsync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationHistoryPageDto {
+    private List<RecommendationSummaryDto> items; // Newest first
+    private String nextCursor; // Pass back to get the next page; null on the last page
+}
@@ -0,0 +1,37 @@
+package com.skillsync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable, so a job can be serialized while its generation finishes on another thread; a finished
+ * job is published as a new instance.
+ */
+@Getter
+@AllArgsConstructor
+public class RecommendationJobDto {
+    private final String jobId;
+    private final Long userId;
+    private final Status status;
+    private final CareerRecommendationDto recommendation; // Set once the job has completed
+    private final String error;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime completedAt;
+
+    public enum Status {
+        PENDING,
+        COMPLETED,
+        FAILED
+    }
+
+    public RecommendationJobDto completed(CareerRecommendationDto recommendation) {
+        return new RecommendationJobDto(jobId, userId, Status.COMPLETED, recommendation, null, createdAt,
+                LocalDateTime.now());
+    }
+
+    public RecommendationJobDto failed(String error) {
+        return new RecommendationJobDto(jobId, userId, Status.FAILED, null, error, createdAt, LocalDateTime.now());
+    }
+}
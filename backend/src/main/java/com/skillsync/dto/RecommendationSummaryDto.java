@@ -0,0 +1,20 @@
+package com.skillsync.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view summary of a recommendation, without the lists and insights text.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationSummaryDto {
+    private Long id;
+    private String topRole; // First recommended role, if any
+    private Double confidenceScore;
+    private LocalDateTime createdAt;
+}
@@ -4,40 +4,72 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "career_recommendations")
+@Table(name = "career_recommendations", indexes = @Index(name = "idx_career_recommendations_user_created",
+        columnList = "user_id, created_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class CareerRecommendation {
 
+    // Column limits; AI output is truncated to them when it is decoded
+    public static final int ITEM_MAX_LENGTH = 1000;
+    public static final int INSIGHTS_MAX_LENGTH = 2000;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "career_recommendations_seq")
+    @SequenceGenerator(name = "career_recommendations_seq", sequenceName = "career_recommendations_seq",
+            allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "recommended_roles", length = 1000)
-    private String recommendedRoles; // JSON array as string
+    // Lists live in ordered child tables, loaded lazily in batches across the rows of a query
+    @ElementCollection
+    @CollectionTable(name = "recommendation_roles", joinColumns = @JoinColumn(name = "recommendation_id"))
+    @OrderColumn(name = "item_index")
+    @Column(name = "role", length = ITEM_MAX_LENGTH, nullable = false)
+    @BatchSize(size = 50)
+    private List<String> recommendedRoles = new ArrayList<>();
 
-    @Column(name = "missing_skills", length = 1000)
-    private String missingSkills; // JSON array as string
+    @ElementCollection
+    @CollectionTable(name = "recommendation_missing_skills", joinColumns = @JoinColumn(name = "recommendation_id"),
+            indexes = @Index(name = "idx_recommendation_missing_skills_skill", columnList = "skill"))
+    @OrderColumn(name = "item_index")
+    @Column(name = "skill", length = ITEM_MAX_LENGTH, nullable = false)
+    @BatchSize(size = 50)
+    private List<String> missingSkills = new ArrayList<>();
 
-    @Column(name = "recommended_courses", length = 2000)
-    private String recommendedCourses; // JSON array as string
+    @ElementCollection
+    @CollectionTable(name = "recommendation_courses", joinColumns = @JoinColumn(name = "recommendation_id"))
+    @OrderColumn(name = "item_index")
+    @Column(name = "course", length = ITEM_MAX_LENGTH, nullable = false)
+    @BatchSize(size = 50)
+    private List<String> recommendedCourses = new ArrayList<>();
 
-    @Column(name = "project_ideas", length = 2000)
-    private String projectIdeas; // JSON array as string
+    @ElementCollection
+    @CollectionTable(name = "recommendation_project_ideas", joinColumns = @JoinColumn(name = "recommendation_id"))
+    @OrderColumn(name = "item_index")
+    @Column(name = "idea", length = ITEM_MAX_LENGTH, nullable = false)
+    @BatchSize(size = 50)
+    private List<String> projectIdeas = new ArrayList<>();
 
-    @Column(name = "ai_insights", length = 2000)
+    @Column(name = "ai_insights", length = INSIGHTS_MAX_LENGTH)
     private String aiInsights; // Additional AI-generated insights
 
+    // Fingerprint of the prompt the profile produced; only set for complete AI answers
+    @Column(name = "profile_hash", length = 64)
+    private String profileHash;
+
     @Column(name = "confidence_score")
     private Double confidenceScore; // AI confidence level (0.0 to 1.0)
 
@@ -9,14 +9,26 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "courses")
+// Search filters on equality columns first, then sorts by rating; see CourseService.searchCourses
+@Table(name = "courses", indexes = {
+        @Index(name = "idx_courses_category_difficulty_rating", columnList = "category, difficulty_level, rating"),
+        @Index(name = "idx_courses_difficulty_rating", columnList = "difficulty_level, rating"),
+        @Index(name = "idx_courses_provider_rating", columnList = "provider, rating"),
+        @Index(name = "idx_courses_free_rating", columnList = "is_free, rating"),
+        @Index(name = "idx_courses_rating", columnList = "rating"),
+        @Index(name = "idx_courses_created_at", columnList = "created_at")
+}, uniqueConstraints = {
+        // One course per URL; bulk imports upsert on it, see CourseImportService and CourseUrlMigration
+        @UniqueConstraint(name = "uk_courses_course_url", columnNames = "course_url")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,25 @@
+package com.skillsync.model;
+
+/**
+ * Entity ids come from one sequence per table, named "{table}_seq", with Hibernate's pooled optimizer:
+ * each nextval reserves the block of ALLOCATION_SIZE ids that ends at the returned value. Hibernate
+ * needs one round trip per block instead of one per insert, and can batch the inserts themselves.
+ * Id columns have no default: a nextval per row would use up a whole block for every plain SQL insert.
+ * Plain SQL takes its ids from SequenceIdAllocator, which reserves blocks the same way, and data.sql
+ * gives its rows explicit ids that SequenceIdMigration moves the sequences past.
+ */
+public final class IdGeneration {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+
+    /**
+     * The first id of the block reserved by a nextval that returned {@code hi}. The sequence starts
+     * at 1, so the very first block holds that single id.
+     */
+    public static long blockStart(long hi) {
+        return Math.max(1, hi - ALLOCATION_SIZE + 1);
+    }
+}
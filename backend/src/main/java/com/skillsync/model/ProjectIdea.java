@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class ProjectIdea {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_ideas_seq")
+    @SequenceGenerator(name = "project_ideas_seq", sequenceName = "project_ideas_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -1,13 +1,38 @@
 package com.skillsync.repository;
 
+import com.skillsync.dto.RecommendationSummaryDto;
 import com.skillsync.model.CareerRecommendation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface CareerRecommendationRepository extends JpaRepository<CareerRecommendation, Long> {
     List<CareerRecommendation> findByUserIdOrderByCreatedAtDesc(Long userId);
     CareerRecommendation findFirstByUserIdOrderByCreatedAtDesc(Long userId);
+
+    // Single row, so fetching the lists in the same query is cheap
+    @EntityGraph(attributePaths = {"recommendedRoles", "missingSkills", "recommendedCourses", "projectIdeas"})
+    CareerRecommendation findWithListsFirstByUserIdOrderByCreatedAtDescIdDesc(Long userId);
+
+    // History pages are read newest first by keyset on (createdAt, id), served by the user/created_at index
+    String SUMMARY_SELECT = "SELECT new com.skillsync.dto.RecommendationSummaryDto(r.id, role, r.confidenceScore, r.createdAt) " +
+            "FROM CareerRecommendation r LEFT JOIN r.recommendedRoles role ON INDEX(role) = 0 ";
+    String SUMMARY_ORDER = " ORDER BY r.createdAt DESC, r.id DESC";
+
+    @Query(SUMMARY_SELECT + "WHERE r.user.id = :userId" + SUMMARY_ORDER)
+    List<RecommendationSummaryDto> findSummaries(@Param("userId") Long userId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE r.user.id = :userId " +
+            "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))" + SUMMARY_ORDER)
+    List<RecommendationSummaryDto> findSummariesBefore(@Param("userId") Long userId,
+                                                       @Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") Long id,
+                                                       Limit limit);
 }
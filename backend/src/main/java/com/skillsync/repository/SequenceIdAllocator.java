@@ -0,0 +1,50 @@
+package com.skillsync.repository;
+
+import com.skillsync.model.IdGeneration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out entity ids to plain SQL inserts, drawn from the same pooled sequences as Hibernate (see
+ * {@link IdGeneration}). Each nextval reserves a whole block; ids left over from a block are kept for
+ * the next caller, so small inserts do not use up a block each.
+ */
+@Component
+public class SequenceIdAllocator {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Sequence name -> {next free id, last id of the block}
+    private final Map<String, long[]> blocks = new HashMap<>();
+
+    /**
+     * {@code count} unused ids from the sequence, in ascending order within each block.
+     */
+    public synchronized long[] reserve(String sequence, int count) {
+        long[] ids = new long[count];
+        long[] block = blocks.computeIfAbsent(sequence, name -> new long[]{1, 0});
+        int filled = 0;
+        while (filled < count) {
+            if (block[0] > block[1]) {
+                int needed = (count - filled + IdGeneration.ALLOCATION_SIZE - 1) / IdGeneration.ALLOCATION_SIZE;
+                // Every block but the last is used up here; only the last one's leftovers are kept
+                for (Long hi : jdbcTemplate.queryForList(
+                        "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, needed)) {
+                    block[0] = IdGeneration.blockStart(hi);
+                    block[1] = hi;
+                    while (block[0] <= block[1] && filled < count) {
+                        ids[filled++] = block[0]++;
+                    }
+                }
+            } else {
+                ids[filled++] = block[0]++;
+            }
+        }
+        return ids;
+    }
+}
@@ -4,12 +4,14 @@ import com.skillsync.model.Skill;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SkillRepository extends JpaRepository<Skill, Long> {
+public interface SkillRepository extends JpaRepository<Skill, Long>, SkillRepositoryCustom {
     Optional<Skill> findByName(String name);
+    List<Skill> findByNameIn(Collection<String> names);
     List<Skill> findByCategory(String category);
     Boolean existsByName(String name);
 }
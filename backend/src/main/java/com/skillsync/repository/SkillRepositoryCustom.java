@@ -0,0 +1,13 @@
+package com.skillsync.repository;
+
+import java.util.Collection;
+
+public interface SkillRepositoryCustom {
+
+    /**
+     * Inserts a skill for each name that does not exist yet, in one batched statement.
+     * Names inserted concurrently by another transaction are skipped rather than failing
+     * on the unique name constraint.
+     */
+    void insertMissing(Collection<String> names, String category);
+}
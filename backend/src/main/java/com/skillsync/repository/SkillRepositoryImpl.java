@@ -0,0 +1,51 @@
+package com.skillsync.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class SkillRepositoryImpl implements SkillRepositoryCustom {
+
+    // PostgreSQL skips conflicting rows atomically; MERGE is the portable form for other databases (H2)
+    private static final String POSTGRES_INSERT =
+            "INSERT INTO skills (id, name, category) VALUES (?, ?, ?) ON CONFLICT (name) DO NOTHING";
+    private static final String MERGE_INSERT =
+            "MERGE INTO skills s USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), " +
+            "CAST(? AS VARCHAR(255)))) v(id, name, category) ON s.name = v.name " +
+            "WHEN NOT MATCHED THEN INSERT (id, name, category) VALUES (v.id, v.name, v.category)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SequenceIdAllocator idAllocator;
+
+    private volatile String insertSql;
+
+    @Override
+    public void insertMissing(Collection<String> names, String category) {
+        if (names.isEmpty()) {
+            return;
+        }
+        // Ids of names that turn out to exist already are simply not used
+        long[] ids = idAllocator.reserve("skills_seq", names.size());
+        List<Object[]> rows = new ArrayList<>(names.size());
+        for (String name : names) {
+            rows.add(new Object[]{ids[rows.size()], name, category});
+        }
+        jdbcTemplate.batchUpdate(insertSql(), rows);
+    }
+
+    private String insertSql() {
+        if (insertSql == null) {
+            boolean postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+            insertSql = postgres ? POSTGRES_INSERT : MERGE_INSERT;
+        }
+        return insertSql;
+    }
+}
@@ -1,12 +1,23 @@
 package com.skillsync.repository;
 
 import com.skillsync.model.UserProfile;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
     Optional<UserProfile> findByUserId(Long userId);
+
+    @EntityGraph(attributePaths = "skills")
+    Optional<UserProfile> findWithSkillsByUserId(Long userId);
+
+    @Query("SELECT p.user.id FROM UserProfile p WHERE p.updatedAt > :since")
+    List<Long> findUserIdsUpdatedAfter(@Param("since") LocalDateTime since);
 }
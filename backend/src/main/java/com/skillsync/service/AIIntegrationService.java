@@ -1,15 +1,28 @@
 package com.skillsync.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.dto.AIRecommendation;
+import com.skillsync.util.AIResponseParser;
+import com.skillsync.util.CircuitBreaker;
+import com.skillsync.util.PromptBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Service
 public class AIIntegrationService {
@@ -23,228 +36,338 @@ public class AIIntegrationService {
     @Value("${openai.model:gpt-3.5-turbo}")
     private String model;
 
-    private final WebClient webClient;
-    private final ObjectMapper objectMapper;
+    @Value("${openai.max-completion-tokens:1000}")
+    private int maxCompletionTokens;
+
+    @Value("${openai.context-window-tokens:4096}")
+    private int contextWindowTokens;
+
+    // Chat formatting tokens added around each message
+    private static final int MESSAGE_OVERHEAD_TOKENS = 8;
 
-    public AIIntegrationService(WebClient.Builder webClientBuilder, ObjectMapper objectMapper) {
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_STRING =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final AIResponseCache responseCache;
+    private final FallbackRecommender fallbackRecommender;
+
+    // Upstream calls currently in flight, keyed by prompt fingerprint
+    private final Map<String, Mono<AIRecommendation>> inFlight = new ConcurrentHashMap<>();
+
+    // Resilience around the upstream: per-call deadline, concurrency bulkhead and circuit breaker
+    private final Duration callTimeout;
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Counter upstreamCalls;
+    private final Counter coalescedCalls;
+    private final Counter timeouts;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+    private final Counter partialResponses;
+
+    public AIIntegrationService(WebClient.Builder webClientBuilder,
+                                AIResponseCache responseCache, FallbackRecommender fallbackRecommender,
+                                MeterRegistry meterRegistry,
+                                @Value("${openai.timeout-seconds:20}") long timeoutSeconds,
+                                @Value("${openai.bulkhead.max-concurrent-calls:10}") int maxConcurrentCalls,
+                                @Value("${openai.circuit-breaker.sliding-window-size:20}") int windowSize,
+                                @Value("${openai.circuit-breaker.minimum-calls:5}") int minimumCalls,
+                                @Value("${openai.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+                                @Value("${openai.circuit-breaker.open-duration-seconds:30}") long openDurationSeconds,
+                                @Value("${openai.circuit-breaker.half-open-calls:2}") int halfOpenCalls) {
         this.webClient = webClientBuilder.build();
-        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
+        this.fallbackRecommender = fallbackRecommender;
+        this.callTimeout = Duration.ofSeconds(timeoutSeconds);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                Duration.ofSeconds(openDurationSeconds), halfOpenCalls);
+
+        this.upstreamCalls = meterRegistry.counter("skillsync.ai.upstream.calls");
+        this.coalescedCalls = meterRegistry.counter("skillsync.ai.requests.coalesced");
+        this.timeouts = meterRegistry.counter("skillsync.ai.upstream.timeouts");
+        this.bulkheadRejections = meterRegistry.counter("skillsync.ai.upstream.rejected", "reason", "bulkhead");
+        this.circuitRejections = meterRegistry.counter("skillsync.ai.upstream.rejected", "reason", "circuit_open");
+        this.partialResponses = meterRegistry.counter("skillsync.ai.responses.partial");
+        meterRegistry.gauge("skillsync.ai.upstream.in_flight", inFlight, Map::size);
+        meterRegistry.gauge("skillsync.ai.bulkhead.available", bulkhead, Semaphore::availablePermits);
+        meterRegistry.gauge("skillsync.ai.circuit.state", circuitBreaker, cb -> cb.getState().ordinal());
     }
 
-    public Map<String, Object> generateCareerRecommendations(String prompt) {
-        try {
-            // If API key is not configured, return mock data
-            if (openaiApiKey.equals("your-api-key-here") || openaiApiKey.isEmpty()) {
-                return generateMockRecommendations(prompt);
-            }
+    public AIRecommendation generateCareerRecommendations(String prompt, boolean refresh) {
+        return generateCareerRecommendationsAsync(prompt, refresh).block();
+    }
+
+    /**
+     * Non-blocking variant of {@link #generateCareerRecommendations(String, boolean)}.
+     * The returned Mono never errors: any upstream or parsing failure falls back to mock data.
+     * With {@code refresh} the response cache is not consulted, though the new answer is still stored.
+     */
+    public Mono<AIRecommendation> generateCareerRecommendationsAsync(String prompt, boolean refresh) {
+        // If API key is not configured, return mock data
+        if (!isConfigured()) {
+            return Mono.fromSupplier(() -> generateMockRecommendations(prompt));
+        }
 
-            // Prepare request body
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", model);
-            requestBody.put("messages", List.of(
-                    Map.of("role", "user", "content", prompt)
-            ));
-            requestBody.put("temperature", 0.7);
-            requestBody.put("max_tokens", 1000);
-
-            // Call OpenAI API
-            String response = webClient.post()
-                    .uri(openaiApiUrl)
-                    .header("Authorization", "Bearer " + openaiApiKey)
-                    .header("Content-Type", "application/json")
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            // Parse response
-            JsonNode rootNode = objectMapper.readTree(response);
-            String content = rootNode.path("choices").get(0).path("message").path("content").asText();
-
-            // Try to parse as JSON
-            return objectMapper.readValue(content, Map.class);
-
-        } catch (Exception e) {
-            System.err.println("Error calling AI API: " + e.getMessage());
-            // Return mock data as fallback
+        AIRecommendation cached = refresh ? null : responseCache.get(PromptBuilder.fingerprint(prompt));
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return upstreamWithFallback(prompt);
+    }
+
+    /**
+     * Blocking variant for callers that pace their upstream calls, e.g. against the provider's rate limits.
+     * {@code permit} is acquired on the calling thread, and only when the answer cannot come from the
+     * mock or the response cache, so those answers spend none of the caller's budget.
+     */
+    public AIRecommendation generateCareerRecommendations(String prompt, boolean refresh, UpstreamPermit permit)
+            throws InterruptedException {
+        if (!isConfigured()) {
             return generateMockRecommendations(prompt);
         }
+
+        AIRecommendation cached = refresh ? null : responseCache.get(PromptBuilder.fingerprint(prompt));
+        if (cached != null) {
+            return cached;
+        }
+        permit.acquire();
+        return upstreamWithFallback(prompt).block();
+    }
+
+    /**
+     * Taken before a real upstream call; may block until the call is allowed.
+     */
+    @FunctionalInterface
+    public interface UpstreamPermit {
+        void acquire() throws InterruptedException;
+    }
+
+    private boolean isConfigured() {
+        return !openaiApiKey.equals("your-api-key-here") && !openaiApiKey.isEmpty();
+    }
+
+    private Mono<AIRecommendation> upstreamWithFallback(String prompt) {
+        return sharedCall(PromptBuilder.fingerprint(prompt), prompt)
+                .onErrorResume(e -> {
+                    System.err.println("Error calling AI API: " + e.getMessage());
+                    // Return mock data as fallback
+                    return Mono.fromSupplier(() -> generateMockRecommendations(prompt));
+                });
+    }
+
+    /**
+     * Single-flight: concurrent requests for the same fingerprint subscribe to one upstream call
+     * and all receive the same parsed result (or the same error).
+     */
+    private Mono<AIRecommendation> sharedCall(String fingerprint, String prompt) {
+        // Registered per subscription, so a Mono that is never subscribed leaves no entry behind
+        return Mono.defer(() -> {
+            // Only this call's own entry may be removed; a newer call for the fingerprint may have replaced it
+            AtomicReference<Mono<AIRecommendation>> self = new AtomicReference<>();
+            Mono<AIRecommendation> call = guardedCall(prompt)
+                    .map(response -> parseContent(fingerprint, AIResponseParser.extractMessageContent(response)))
+                    .doFinally(signal -> inFlight.remove(fingerprint, self.get()))
+                    .cache();
+            self.set(call);
+
+            Mono<AIRecommendation> existing = inFlight.putIfAbsent(fingerprint, call);
+            if (existing != null) {
+                coalescedCalls.increment();
+                return existing;
+            }
+            return call;
+        });
+    }
+
+    /**
+     * Streams the model output. Emits one {@link StreamEvent} per content delta, then a final event
+     * carrying the parsed recommendations. Like the non-streaming call, this never errors:
+     * on failure the final event carries the mock fallback and earlier deltas should be discarded.
+     */
+    public Flux<StreamEvent> streamCareerRecommendations(String prompt, boolean refresh) {
+        if (!isConfigured()) {
+            return Flux.defer(() -> Flux.just(StreamEvent.completed(generateMockRecommendations(prompt))));
+        }
+
+        String fingerprint = PromptBuilder.fingerprint(prompt);
+        AIRecommendation cached = refresh ? null : responseCache.get(fingerprint);
+        if (cached != null) {
+            return Flux.just(StreamEvent.completed(cached));
+        }
+
+        return Flux.defer(() -> {
+            StringBuilder content = new StringBuilder();
+            return guarded(() -> streamOpenAI(prompt))
+                    .doOnNext(content::append)
+                    .map(StreamEvent::delta)
+                    .concatWith(Mono.fromCallable(() -> {
+                        return StreamEvent.completed(parseContent(fingerprint, content.toString()));
+                    }))
+                    .onErrorResume(e -> {
+                        System.err.println("Error streaming from AI API: " + e.getMessage());
+                        return Mono.fromSupplier(() -> StreamEvent.completed(generateMockRecommendations(prompt)));
+                    });
+        });
+    }
+
+    /**
+     * Runs an upstream call behind the circuit breaker, the bulkhead and the deadline.
+     * The deadline applies to the first signal and to the gap between streamed items.
+     * Rejections fail immediately so callers fall straight through to the fallback.
+     * Only transport-level outcomes are recorded by the breaker, not malformed model output.
+     */
+    private <T> Flux<T> guarded(Supplier<Flux<T>> upstream) {
+        return Flux.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                circuitRejections.increment();
+                return Flux.error(new IllegalStateException("AI circuit breaker is open"));
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.releasePermission();
+                bulkheadRejections.increment();
+                return Flux.error(new IllegalStateException("AI bulkhead is full"));
+            }
+            upstreamCalls.increment();
+            return upstream.get()
+                    .timeout(callTimeout)
+                    .doOnComplete(circuitBreaker::onSuccess)
+                    .doOnError(e -> {
+                        if (e instanceof TimeoutException) {
+                            timeouts.increment();
+                        }
+                        circuitBreaker.onFailure();
+                    })
+                    .doOnCancel(circuitBreaker::releasePermission)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    private Mono<String> guardedCall(String prompt) {
+        return guarded(() -> callOpenAI(prompt).flux()).singleOrEmpty();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public double getCircuitFailureRate() {
+        return circuitBreaker.getFailureRate();
+    }
+
+    public int getAvailableBulkheadPermits() {
+        return bulkhead.availablePermits();
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    private Mono<String> callOpenAI(String prompt) {
+        Map<String, Object> requestBody = buildRequestBody(prompt);
+
+        // Call OpenAI API
+        return webClient.post()
+                .uri(openaiApiUrl)
+                .header("Authorization", "Bearer " + openaiApiKey)
+                .header("Content-Type", "application/json")
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    /**
+     * Calls the chat completions API with streaming on and emits the content deltas.
+     */
+    private Flux<String> streamOpenAI(String prompt) {
+        Map<String, Object> requestBody = buildRequestBody(prompt);
+        requestBody.put("stream", true);
+
+        return webClient.post()
+                .uri(openaiApiUrl)
+                .header("Authorization", "Bearer " + openaiApiKey)
+                .header("Content-Type", "application/json")
+                .header("Accept", "text/event-stream")
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToFlux(SSE_STRING)
+                .map(ServerSentEvent::data)
+                .takeWhile(data -> !"[DONE]".equals(data.trim()))
+                .map(AIResponseParser::extractDeltaContent)
+                .filter(delta -> !delta.isEmpty());
+    }
+
+    private Map<String, Object> buildRequestBody(String prompt) {
+        // Prepare request body
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", model);
+        requestBody.put("messages", List.of(
+                Map.of("role", "system", "content", PromptBuilder.SYSTEM_PROMPT),
+                Map.of("role", "user", "content", prompt)
+        ));
+        requestBody.put("temperature", 0.7);
+        requestBody.put("max_tokens", completionTokens(prompt));
+        return requestBody;
+    }
+
+    /**
+     * Estimated total tokens (prompt plus completion budget) a request for this prompt may consume.
+     */
+    public int estimateRequestTokens(String prompt) {
+        return promptTokens(prompt) + completionTokens(prompt);
+    }
+
+    private int promptTokens(String prompt) {
+        return PromptBuilder.SYSTEM_PROMPT_TOKENS + PromptBuilder.estimateTokens(prompt) + MESSAGE_OVERHEAD_TOKENS;
+    }
+
+    private int completionTokens(String prompt) {
+        // Never ask for more than what is left of the context window
+        return Math.max(1, Math.min(maxCompletionTokens, contextWindowTokens - promptTokens(prompt)));
+    }
+
+    /**
+     * Decodes the model's content. Only complete answers are cached, never partial recoveries
+     * or the fallback, so a later request gets another chance at a full answer.
+     */
+    private AIRecommendation parseContent(String fingerprint, String content) {
+        AIRecommendation recommendation = AIResponseParser.parseRecommendation(content);
+        if (recommendation.source() == AIRecommendation.Source.AI) {
+            responseCache.put(fingerprint, recommendation);
+        } else {
+            partialResponses.increment();
+            System.err.println("AI response was cut short; using the partially recovered recommendation");
+        }
+        return recommendation;
     }
 
     /**
      * Generate mock recommendations based on the prompt content
      * This analyzes the user's skills and interests from the prompt
      */
-    private Map<String, Object> generateMockRecommendations(String prompt) {
-        Map<String, Object> recommendations = new HashMap<>();
-
-        // Analyze prompt to determine user's domain
-        String lowerPrompt = prompt.toLowerCase();
-
-        // Determine career path based on skills and interests
-        boolean isUIUX = lowerPrompt.contains("ui") || lowerPrompt.contains("ux") ||
-                         lowerPrompt.contains("design") || lowerPrompt.contains("figma") ||
-                         lowerPrompt.contains("user interface") || lowerPrompt.contains("user experience");
-
-        boolean isFrontend = lowerPrompt.contains("react") || lowerPrompt.contains("javascript") ||
-                            lowerPrompt.contains("css") || lowerPrompt.contains("html") ||
-                            lowerPrompt.contains("frontend") || lowerPrompt.contains("web design");
-
-        boolean isBackend = lowerPrompt.contains("java") || lowerPrompt.contains("spring") ||
-                           lowerPrompt.contains("backend") || lowerPrompt.contains("api") ||
-                           lowerPrompt.contains("database");
-
-        boolean isDataScience = lowerPrompt.contains("data") || lowerPrompt.contains("python") ||
-                               lowerPrompt.contains("analytics") || lowerPrompt.contains("machine learning");
-
-        boolean isDevOps = lowerPrompt.contains("devops") || lowerPrompt.contains("docker") ||
-                          lowerPrompt.contains("kubernetes") || lowerPrompt.contains("cloud");
-
-        List<String> roles = new ArrayList<>();
-        List<String> missingSkills = new ArrayList<>();
-        List<String> courses = new ArrayList<>();
-        List<String> projects = new ArrayList<>();
-        String insights = "";
-
-        if (isUIUX) {
-            // UI/UX Designer Path
-            roles.add("UI/UX Designer");
-            roles.add("Product Designer");
-            roles.add("Interaction Designer");
-
-            missingSkills.add("Advanced Figma Prototyping");
-            missingSkills.add("User Research Methods");
-            missingSkills.add("Design Systems");
-            missingSkills.add("Usability Testing");
-
-            courses.add("Google UX Design Professional Certificate - Coursera");
-            courses.add("UI/UX Design Specialization - Coursera");
-            courses.add("Advanced Figma: Design Systems - Udemy");
-
-            projects.add("Design a complete mobile app with user research and testing");
-            projects.add("Create a design system for a SaaS product");
-
-            insights = "As a UI/UX designer, you have a great foundation in design principles. " +
-                      "Focus on expanding your user research skills, learn advanced prototyping techniques, " +
-                      "and build a strong portfolio showcasing your design process from research to final designs. " +
-                      "Understanding basic HTML/CSS can also help you collaborate better with developers.";
-
-        } else if (isFrontend) {
-            // Frontend Developer Path
-            roles.add("Frontend Developer");
-            roles.add("React Developer");
-            roles.add("UI Developer");
-
-            missingSkills.add("TypeScript");
-            missingSkills.add("Next.js");
-            missingSkills.add("State Management (Redux/Zustand)");
-            missingSkills.add("Testing (Jest, React Testing Library)");
-
-            courses.add("React - The Complete Guide - Udemy");
-            courses.add("TypeScript for React Developers - Udemy");
-            courses.add("Next.js & React - The Complete Guide - Udemy");
-
-            projects.add("Build a responsive e-commerce site with React and TypeScript");
-            projects.add("Create a real-time chat application with WebSockets");
-
-            insights = "With your frontend skills, you're well-positioned for modern web development roles. " +
-                      "Master TypeScript and a modern framework like Next.js to stay competitive. " +
-                      "Focus on performance optimization, accessibility, and testing to become a senior developer.";
-
-        } else if (isDataScience) {
-            // Data Science Path
-            roles.add("Data Analyst");
-            roles.add("Data Scientist");
-            roles.add("Machine Learning Engineer");
-
-            missingSkills.add("Advanced Python (Pandas, NumPy)");
-            missingSkills.add("Machine Learning Algorithms");
-            missingSkills.add("SQL and Database Design");
-            missingSkills.add("Data Visualization (Tableau, Power BI)");
-
-            courses.add("Machine Learning Specialization - Coursera");
-            courses.add("Python for Data Science - Udemy");
-            courses.add("SQL for Data Analysis - Coursera");
-
-            projects.add("Build a predictive model for customer churn");
-            projects.add("Create an interactive dashboard for sales analytics");
-
-            insights = "Data science is a rapidly growing field with excellent opportunities. " +
-                      "Strengthen your statistical knowledge, master Python libraries, and build a portfolio " +
-                      "of data projects showcasing your analytical and visualization skills.";
-
-        } else if (isDevOps) {
-            // DevOps Path
-            roles.add("DevOps Engineer");
-            roles.add("Cloud Engineer");
-            roles.add("Site Reliability Engineer");
-
-            missingSkills.add("Kubernetes");
-            missingSkills.add("CI/CD Pipelines");
-            missingSkills.add("Infrastructure as Code (Terraform)");
-            missingSkills.add("Monitoring and Logging");
-
-            courses.add("Docker Mastery - Udemy");
-            courses.add("Kubernetes for Beginners - Udemy");
-            courses.add("AWS Certified Solutions Architect - Udemy");
-
-            projects.add("Set up a complete CI/CD pipeline for a microservices app");
-            projects.add("Deploy a scalable application on Kubernetes");
-
-            insights = "DevOps engineers are in high demand. Focus on mastering containerization, " +
-                      "cloud platforms, and automation. Get hands-on experience with real deployments " +
-                      "and consider getting AWS or Azure certifications.";
-
-        } else if (isBackend) {
-            // Backend Developer Path (default)
-            roles.add("Backend Developer");
-            roles.add("Java Developer");
-            roles.add("API Developer");
-
-            missingSkills.add("Spring Boot");
-            missingSkills.add("REST API Design");
-            missingSkills.add("Microservices Architecture");
-            missingSkills.add("Database Optimization");
-
-            courses.add("Spring Boot Masterclass - Udemy");
-            courses.add("RESTful Web Services - Udemy");
-            courses.add("SQL for Data Science - Coursera");
-
-            projects.add("Build a RESTful API for a Library Management System");
-            projects.add("Create a Microservices-based E-commerce Platform");
-
-            insights = "Backend development offers stable career opportunities. Master Spring Boot, " +
-                      "understand microservices architecture, and learn database optimization. " +
-                      "Building scalable APIs and understanding cloud deployment will make you highly valuable.";
-        } else {
-            // Generic Full Stack Path
-            roles.add("Full Stack Developer");
-            roles.add("Software Engineer");
-            roles.add("Web Developer");
-
-            missingSkills.add("Modern Frontend Framework (React/Vue)");
-            missingSkills.add("Backend Framework (Spring Boot/Node.js)");
-            missingSkills.add("Database Management");
-            missingSkills.add("Version Control (Git)");
-
-            courses.add("Full Stack Web Development - Coursera");
-            courses.add("React - The Complete Guide - Udemy");
-            courses.add("Node.js - The Complete Guide - Udemy");
-
-            projects.add("Build a full-stack social media application");
-            projects.add("Create a task management system with real-time updates");
-
-            insights = "As a full stack developer, you can work on both frontend and backend. " +
-                      "Focus on mastering one stack deeply (like MERN or Spring Boot + React), " +
-                      "then expand your knowledge. Build complete applications to showcase your skills.";
+    private AIRecommendation generateMockRecommendations(String prompt) {
+        return fallbackRecommender.recommend(prompt);
+    }
+
+    /**
+     * Either a streamed content delta or the final parsed recommendations.
+     */
+    public record StreamEvent(String delta, AIRecommendation result) {
+
+        static StreamEvent delta(String delta) {
+            return new StreamEvent(delta, null);
         }
 
-        recommendations.put("recommendedRoles", roles);
-        recommendations.put("missingSkills", missingSkills);
-        recommendations.put("recommendedCourses", courses);
-        recommendations.put("projectIdeas", projects);
-        recommendations.put("insights", insights);
+        static StreamEvent completed(AIRecommendation result) {
+            return new StreamEvent(null, result);
+        }
 
-        return recommendations;
+        public boolean isCompleted() {
+            return result != null;
+        }
     }
 }
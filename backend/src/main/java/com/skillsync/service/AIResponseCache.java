@@ -0,0 +1,59 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.AIRecommendation;
+import com.skillsync.util.LruCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-process cache of parsed AI responses, keyed by prompt fingerprint.
+ * Entries are evicted least-recently-used once the size limit is reached, and expire after the TTL.
+ */
+@Component
+public class AIResponseCache {
+
+    private final long ttlMinutes;
+    private final LruCache<String, AIRecommendation> cache;
+
+    public AIResponseCache(MeterRegistry meterRegistry,
+                           @Value("${app.ai.cache.max-size:1000}") int maxSize,
+                           @Value("${app.ai.cache.ttl-minutes:60}") long ttlMinutes) {
+        this.ttlMinutes = ttlMinutes;
+        this.cache = new LruCache<>(maxSize, Duration.ofMinutes(ttlMinutes), meterRegistry, "skillsync.ai.cache");
+    }
+
+    public AIRecommendation get(String fingerprint) {
+        return cache.get(fingerprint);
+    }
+
+    public void put(String fingerprint, AIRecommendation value) {
+        cache.put(fingerprint, value);
+    }
+
+    /**
+     * Removes all entries and returns how many were dropped.
+     */
+    public int clear() {
+        return cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", cache.size());
+        stats.put("maxSize", cache.getMaxSize());
+        stats.put("ttlMinutes", ttlMinutes);
+        stats.put("hits", cache.getHits());
+        stats.put("misses", cache.getMisses());
+        stats.put("evictions", cache.getEvictions());
+        return stats;
+    }
+}
@@ -0,0 +1,202 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.AIRecommendation;
+import com.skillsync.dto.BatchRecommendationRequest;
+import com.skillsync.dto.BatchRecommendationStatusDto;
+import com.skillsync.dto.BatchRecommendationStatusDto.UserOutcome;
+import com.skillsync.dto.CareerRecommendationDto;
+import com.skillsync.exception.ApiException;
+import com.skillsync.repository.UserProfileRepository;
+import com.skillsync.util.RateLimiter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates recommendations for many users at once, e.g. a whole cohort.
+ * Work runs on a fixed-size pool and every real upstream call (not a cached or mock answer) first takes
+ * a request and a token budget from per-minute limiters, so a batch stays under the provider's rate limits.
+ * Finished batches are kept for a retention period, and at most a fixed number of batches are held at once.
+ */
+@Service
+public class BatchRecommendationService {
+
+    private final CareerService careerService;
+    private final AIIntegrationService aiIntegrationService;
+    private final UserProfileRepository profileRepository;
+
+    private final ExecutorService executor;
+    private final RateLimiter requestLimiter;
+    private final RateLimiter tokenLimiter;
+    private final long retentionMinutes;
+    private final int maxBatches;
+
+    private final Map<String, BatchJob> batches = new ConcurrentHashMap<>();
+
+    public BatchRecommendationService(CareerService careerService,
+                                      AIIntegrationService aiIntegrationService,
+                                      UserProfileRepository profileRepository,
+                                      @Value("${app.batch.parallelism:4}") int parallelism,
+                                      @Value("${app.batch.requests-per-minute:60}") long requestsPerMinute,
+                                      @Value("${app.batch.tokens-per-minute:60000}") long tokensPerMinute,
+                                      @Value("${app.batch.retention-minutes:30}") long retentionMinutes,
+                                      @Value("${app.batch.max-size:100}") int maxBatches) {
+        this.careerService = careerService;
+        this.aiIntegrationService = aiIntegrationService;
+        this.profileRepository = profileRepository;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        this.requestLimiter = new RateLimiter(requestsPerMinute);
+        this.tokenLimiter = new RateLimiter(tokensPerMinute);
+        this.retentionMinutes = retentionMinutes;
+        this.maxBatches = maxBatches;
+    }
+
+    public BatchRecommendationStatusDto submit(BatchRecommendationRequest request) {
+        purgeExpiredBatches();
+
+        Set<Long> userIds = new LinkedHashSet<>();
+        if (request.getUserIds() != null) {
+            userIds.addAll(request.getUserIds());
+        }
+        if (request.getChangedSince() != null) {
+            userIds.addAll(profileRepository.findUserIdsUpdatedAfter(request.getChangedSince()));
+        }
+        if (request.getUserIds() == null && request.getChangedSince() == null) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Provide userIds and/or changedSince");
+        }
+
+        BatchJob batch = new BatchJob(UUID.randomUUID().toString(), userIds.size());
+        synchronized (batches) {
+            evictOldestFinishedBatches();
+            if (batches.size() >= maxBatches) {
+                throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many recommendation batches running, try again shortly");
+            }
+            batches.put(batch.id, batch);
+        }
+        if (userIds.isEmpty()) {
+            batch.completedAt = LocalDateTime.now();
+        }
+        for (Long userId : userIds) {
+            executor.execute(() -> process(batch, userId, request.isForce()));
+        }
+        return batch.toDto();
+    }
+
+    public BatchRecommendationStatusDto getStatus(String batchId) {
+        BatchJob batch = batches.get(batchId);
+        if (batch == null) {
+            throw new ApiException(HttpStatus.NOT_FOUND, "Batch not found");
+        }
+        return batch.toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void process(BatchJob batch, Long userId, boolean force) {
+        try {
+            CareerService.PreparedPrompt prepared = careerService.prepareRecommendationPrompt(userId);
+
+            // Unchanged profiles keep their latest recommendation and cost no rate limit budget
+            CareerRecommendationDto unchanged = force ? null
+                    : careerService.findUnchangedRecommendation(userId, prepared);
+            if (unchanged != null) {
+                batch.record(new UserOutcome(userId, true, unchanged.getId(), null, null));
+                return;
+            }
+
+            // Only a real upstream call takes budget; cached and mock answers are free
+            String prompt = prepared.prompt();
+            AIRecommendation aiResponse = aiIntegrationService.generateCareerRecommendations(prompt, force, () -> {
+                requestLimiter.acquire(1);
+                // Budget for the worst case: prompt plus the full completion allowance
+                tokenLimiter.acquire(aiIntegrationService.estimateRequestTokens(prompt));
+            });
+            CareerRecommendationDto saved = careerService.saveRecommendation(userId, prepared, aiResponse);
+            batch.record(new UserOutcome(userId, true, saved.getId(), aiResponse.source(), null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.record(new UserOutcome(userId, false, null, null, "Interrupted"));
+        } catch (Exception e) {
+            batch.record(new UserOutcome(userId, false, null, null, e.getMessage()));
+        }
+    }
+
+    private void purgeExpiredBatches() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        batches.values().removeIf(batch -> batch.completedAt != null && batch.completedAt.isBefore(cutoff));
+    }
+
+    /**
+     * Makes room for a new batch by dropping the longest-finished ones; running batches are never evicted.
+     */
+    private void evictOldestFinishedBatches() {
+        int excess = batches.size() - maxBatches + 1;
+        if (excess <= 0) {
+            return;
+        }
+        batches.values().stream()
+                .filter(batch -> batch.completedAt != null)
+                .sorted(Comparator.comparing(batch -> batch.completedAt))
+                .limit(excess)
+                .toList()
+                .forEach(batch -> batches.remove(batch.id));
+    }
+
+    private static class BatchJob {
+        private final String id;
+        private final int total;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final ConcurrentLinkedQueue<UserOutcome> results = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger fallback = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger processed = new AtomicInteger();
+        private volatile LocalDateTime completedAt;
+
+        BatchJob(String id, int total) {
+            this.id = id;
+            this.total = total;
+        }
+
+        void record(UserOutcome outcome) {
+            results.add(outcome);
+            if (!outcome.isSuccess()) {
+                failed.incrementAndGet();
+            } else if (outcome.getSource() != null && outcome.getSource() != AIRecommendation.Source.AI) {
+                // The bulkhead, circuit or deadline cut the AI call short and a stand-in answer was saved
+                fallback.incrementAndGet();
+            } else {
+                succeeded.incrementAndGet();
+            }
+            if (processed.incrementAndGet() == total) {
+                completedAt = LocalDateTime.now();
+            }
+        }
+
+        BatchRecommendationStatusDto toDto() {
+            LocalDateTime completed = completedAt;
+            return new BatchRecommendationStatusDto(id,
+                    completed != null ? BatchRecommendationStatusDto.Status.COMPLETED
+                            : BatchRecommendationStatusDto.Status.RUNNING,
+                    total, succeeded.get(), fallback.get(), failed.get(), new ArrayList<>(results), createdAt, completed);
+        }
+    }
+}
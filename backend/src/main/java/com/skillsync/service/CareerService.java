@@ -1,23 +1,33 @@
 package com.skillsync.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.dto.AIRecommendation;
 import com.skillsync.dto.CareerRecommendationDto;
+import com.skillsync.dto.CourseMatchDto;
+import com.skillsync.dto.RecommendationHistoryPageDto;
+import com.skillsync.dto.RecommendationSummaryDto;
 import com.skillsync.exception.ApiException;
 import com.skillsync.model.CareerRecommendation;
-import com.skillsync.model.User;
 import com.skillsync.model.UserProfile;
 import com.skillsync.repository.CareerRecommendationRepository;
 import com.skillsync.repository.UserProfileRepository;
 import com.skillsync.repository.UserRepository;
 import com.skillsync.util.PromptBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,56 +43,143 @@ public class CareerService {
     private UserProfileRepository profileRepository;
 
     @Autowired
-    private AIIntegrationService aiIntegrationService;
+    private LatestRecommendationCache latestRecommendationCache;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private SkillDictionary skillDictionary;
 
-    @Transactional
-    public CareerRecommendationDto generateRecommendation(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "User not found"));
+    @Autowired
+    private CourseMatcher courseMatcher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
-        UserProfile profile = profileRepository.findByUserId(userId)
-                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND,
-                        "User profile not found. Please create a profile first."));
+    private static final int MAX_HISTORY_PAGE_SIZE = 50;
+    private static final int MAX_MATCHED_COURSES = 20;
+
+    @Value("${app.ai.prompt.max-tokens:400}")
+    private int promptMaxTokens;
+
+    /**
+     * The AI prompt for a profile, with the fingerprint of the profile inputs it was built from.
+     */
+    public record PreparedPrompt(String prompt, String profileHash) {}
+
+    /**
+     * Validates that the user and profile exist and builds the AI prompt for them.
+     */
+    public PreparedPrompt prepareRecommendationPrompt(Long userId) {
+        // Profile and skills in one query; the user is only looked up to word the 404
+        UserProfile profile = profileRepository.findWithSkillsByUserId(userId)
+                .orElseThrow(() -> userRepository.existsById(userId)
+                        ? new ApiException(HttpStatus.NOT_FOUND, "User profile not found. Please create a profile first.")
+                        : new ApiException(HttpStatus.NOT_FOUND, "User not found"));
 
         // Build AI prompt
-        String prompt = PromptBuilder.buildCareerRecommendationPrompt(profile);
+        return new PreparedPrompt(
+                PromptBuilder.buildCareerRecommendationPrompt(profile, promptMaxTokens, skillDictionary::nameOf),
+                PromptBuilder.profileFingerprint(profile, skillDictionary::nameOf));
+    }
 
-        // Get AI recommendations
-        Map<String, Object> aiResponse = aiIntegrationService.generateCareerRecommendations(prompt);
+    /**
+     * Returns the latest recommendation if it was generated by the AI from these same profile inputs,
+     * or null when a new one should be generated. Answered from the latest-recommendation cache, so
+     * only a cold cache costs a query.
+     */
+    public CareerRecommendationDto findUnchangedRecommendation(Long userId, PreparedPrompt prepared) {
+        LatestRecommendationCache.Entry latest = findLatest(userId);
+        if (latest == null || !prepared.profileHash().equals(latest.profileHash())) {
+            return null;
+        }
+        meterRegistry.counter("skillsync.recommendation.generations.avoided").increment();
+        return latest.recommendation();
+    }
+
+    /**
+     * Persists an AI response for the user in a short transaction.
+     * The returned DTO is built from the typed response rather than reloaded.
+     * Call it on the bean, never from inside this class: the transaction comes from the proxy.
+     */
+    @Transactional
+    public CareerRecommendationDto saveRecommendation(Long userId, PreparedPrompt prepared,
+                                                      AIRecommendation aiResponse) {
+        if (!userRepository.existsById(userId)) {
+            throw new ApiException(HttpStatus.NOT_FOUND, "User not found");
+        }
 
-        // Create and save recommendation
+        // Create and save recommendation; only the user's id is needed, so don't load the row
         CareerRecommendation recommendation = new CareerRecommendation();
-        recommendation.setUser(user);
-
-        try {
-            recommendation.setRecommendedRoles(objectMapper.writeValueAsString(aiResponse.get("recommendedRoles")));
-            recommendation.setMissingSkills(objectMapper.writeValueAsString(aiResponse.get("missingSkills")));
-            recommendation.setRecommendedCourses(objectMapper.writeValueAsString(aiResponse.get("recommendedCourses")));
-            recommendation.setProjectIdeas(objectMapper.writeValueAsString(aiResponse.get("projectIdeas")));
-            recommendation.setAiInsights((String) aiResponse.get("insights"));
-            recommendation.setConfidenceScore(0.85); // Default confidence
-        } catch (JsonProcessingException e) {
-            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Error processing AI response");
+        recommendation.setUser(userRepository.getReferenceById(userId));
+
+        recommendation.setRecommendedRoles(new ArrayList<>(aiResponse.recommendedRoles()));
+        recommendation.setMissingSkills(new ArrayList<>(aiResponse.missingSkills()));
+        recommendation.setRecommendedCourses(new ArrayList<>(aiResponse.recommendedCourses()));
+        recommendation.setProjectIdeas(new ArrayList<>(aiResponse.projectIdeas()));
+        recommendation.setAiInsights(aiResponse.insights());
+        recommendation.setConfidenceScore(0.85); // Default confidence
+        // Fallback and cut-short answers are not worth keeping, so they never suppress a retry
+        if (aiResponse.source() == AIRecommendation.Source.AI) {
+            recommendation.setProfileHash(prepared.profileHash());
         }
 
-        CareerRecommendation saved = recommendationRepository.save(recommendation);
-        return convertToDto(saved);
+        // Flushed now rather than at commit so the insert sets createdAt, which the DTO carries
+        CareerRecommendation saved = recommendationRepository.saveAndFlush(recommendation);
+        CareerRecommendationDto dto = new CareerRecommendationDto(saved.getId(), userId,
+                aiResponse.recommendedRoles(), aiResponse.missingSkills(),
+                aiResponse.recommendedCourses(), aiResponse.projectIdeas(),
+                saved.getAiInsights(), saved.getConfidenceScore(), saved.getCreatedAt());
+
+        // Publish to the latest-recommendation cache only once the row is visible to other readers.
+        // Fails without a transaction rather than publishing a row that may still roll back
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                latestRecommendationCache.update(userId, dto, saved.getProfileHash());
+            }
+        });
+        return dto;
     }
 
+    /**
+     * Served from the per-user cache when possible; the database is only read on a miss.
+     * Not transactional, so a hit takes no connection: the miss path is a single repository query
+     * (its own read-only transaction) that fetches the lists with the row.
+     */
     public CareerRecommendationDto getLatestRecommendation(Long userId) {
-        CareerRecommendation recommendation = recommendationRepository
-                .findFirstByUserIdOrderByCreatedAtDesc(userId);
+        LatestRecommendationCache.Entry latest = findLatest(userId);
+        if (latest == null) {
+            throw new ApiException(HttpStatus.NOT_FOUND, "No recommendations found. Generate one first.");
+        }
+        return latest.recommendation();
+    }
+
+    private LatestRecommendationCache.Entry findLatest(Long userId) {
+        LatestRecommendationCache.Entry cached = latestRecommendationCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
 
+        CareerRecommendation recommendation = recommendationRepository
+                .findWithListsFirstByUserIdOrderByCreatedAtDescIdDesc(userId);
         if (recommendation == null) {
-            throw new ApiException(HttpStatus.NOT_FOUND, "No recommendations found. Generate one first.");
+            return null;
         }
 
-        return convertToDto(recommendation);
+        CareerRecommendationDto dto = convertToDto(recommendation);
+        latestRecommendationCache.update(userId, dto, recommendation.getProfileHash());
+        return new LatestRecommendationCache.Entry(dto, recommendation.getProfileHash());
     }
 
+    /**
+     * Catalog courses that teach the missing skills of the user's latest recommendation, best first.
+     */
+    public List<CourseMatchDto> getMatchedCourses(Long userId, String level, int limit) {
+        CareerRecommendationDto latest = getLatestRecommendation(userId);
+        return courseMatcher.match(latest.getMissingSkills(), level,
+                Math.max(1, Math.min(limit, MAX_MATCHED_COURSES)));
+    }
+
+    @Transactional(readOnly = true)
     public List<CareerRecommendationDto> getAllRecommendations(Long userId) {
         List<CareerRecommendation> recommendations = recommendationRepository
                 .findByUserIdOrderByCreatedAtDesc(userId);
@@ -92,6 +189,33 @@ public class CareerService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of the user's history, newest first. Pages are located by keyset on (createdAt, id),
+     * so the cost of a page does not grow with the length of the history.
+     */
+    @Transactional(readOnly = true)
+    public RecommendationHistoryPageDto getRecommendationHistory(Long userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        // One extra row tells whether another page follows
+        Limit fetch = Limit.of(pageSize + 1);
+
+        List<RecommendationSummaryDto> items;
+        if (cursor == null || cursor.isBlank()) {
+            items = recommendationRepository.findSummaries(userId, fetch);
+        } else {
+            HistoryCursor position = HistoryCursor.decode(cursor);
+            items = recommendationRepository.findSummariesBefore(userId, position.createdAt(), position.id(), fetch);
+        }
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            RecommendationSummaryDto last = items.get(pageSize - 1);
+            nextCursor = new HistoryCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new RecommendationHistoryPageDto(items, nextCursor);
+    }
+
     private CareerRecommendationDto convertToDto(CareerRecommendation recommendation) {
         CareerRecommendationDto dto = new CareerRecommendationDto();
         dto.setId(recommendation.getId());
@@ -99,16 +223,33 @@ public class CareerService {
         dto.setAiInsights(recommendation.getAiInsights());
         dto.setConfidenceScore(recommendation.getConfidenceScore());
         dto.setCreatedAt(recommendation.getCreatedAt());
+        // Copied so the DTO does not hold Hibernate collections past the transaction
+        dto.setRecommendedRoles(List.copyOf(recommendation.getRecommendedRoles()));
+        dto.setMissingSkills(List.copyOf(recommendation.getMissingSkills()));
+        dto.setRecommendedCourses(List.copyOf(recommendation.getRecommendedCourses()));
+        dto.setProjectIdeas(List.copyOf(recommendation.getProjectIdeas()));
+        return dto;
+    }
+
+    /**
+     * Position of the last row of a history page, handed to clients as an opaque token.
+     */
+    private record HistoryCursor(LocalDateTime createdAt, Long id) {
 
-        try {
-            dto.setRecommendedRoles(objectMapper.readValue(recommendation.getRecommendedRoles(), List.class));
-            dto.setMissingSkills(objectMapper.readValue(recommendation.getMissingSkills(), List.class));
-            dto.setRecommendedCourses(objectMapper.readValue(recommendation.getRecommendedCourses(), List.class));
-            dto.setProjectIdeas(objectMapper.readValue(recommendation.getProjectIdeas(), List.class));
-        } catch (JsonProcessingException e) {
-            throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Error parsing recommendation data");
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
         }
 
-        return dto;
+        static HistoryCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.valueOf(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new ApiException(HttpStatus.BAD_REQUEST, "Invalid history cursor");
+            }
+        }
     }
 }
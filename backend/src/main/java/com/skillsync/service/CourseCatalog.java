@@ -0,0 +1,110 @@
+package com.skillsync.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.dto.CourseDto;
+import com.skillsync.repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable snapshot of the whole course catalog, with the list response already serialized, both
+ * plain and gzipped, and an ETag derived from its content. The catalog only changes when an admin
+ * adds a course, so reads share one snapshot and writers replace it wholesale (copy-on-write).
+ */
+@Component
+public class CourseCatalog implements ApplicationRunner {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * One version of the catalog. The ETags are strong and quoted; the gzip body has its own.
+     */
+    public record Snapshot(List<CourseDto> courses, byte[] json, byte[] gzippedJson, String etag, String gzipEtag) {}
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reload();
+    }
+
+    /**
+     * Rebuilds the snapshot from the courses table.
+     */
+    public synchronized void reload() {
+        snapshot = build(courseRepository.findAll().stream().map(CourseService::convertToDto).toList());
+        System.out.println("Course catalog snapshot built with " + snapshot.courses().size() + " courses, "
+                + snapshot.json().length + " bytes (" + snapshot.gzippedJson().length + " gzipped)");
+    }
+
+    /**
+     * Publishes a snapshot with the given course appended. Call once the course is committed.
+     */
+    public synchronized void add(CourseDto course) {
+        List<CourseDto> courses = new ArrayList<>(current().courses());
+        courses.add(course);
+        snapshot = build(courses);
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Requests that arrive before the startup load
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Snapshot build(Collection<CourseDto> courses) {
+        List<CourseDto> frozen = List.copyOf(courses);
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(frozen);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the course catalog", e);
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        String hash = fingerprint(json);
+        return new Snapshot(frozen, json, buffer.toByteArray(), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+    }
+
+    private static String fingerprint(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // 128 bits are plenty to tell catalog versions apart
+            return HexFormat.of().formatHex(digest.digest(content), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
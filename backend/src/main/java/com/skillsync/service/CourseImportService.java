@@ -0,0 +1,426 @@
+package com.skillsync.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.dto.CourseDto;
+import com.skillsync.dto.CourseImportResultDto;
+import com.skillsync.exception.ApiException;
+import com.skillsync.repository.SequenceIdAllocator;
+import com.skillsync.util.CsvReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulk course import from CSV (with a header row) or NDJSON (one course object per line). The input is
+ * read as a stream and written in JDBC batches, each in its own transaction, so memory is bounded by the
+ * batch size whatever the file size. Courses are matched on their URL, which is unique: an existing URL
+ * is updated in place, a new one inserted. Invalid rows are reported by line and skipped; they do not
+ * stop the import.
+ */
+@Service
+public class CourseImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final List<String> LEVELS = List.of("Beginner", "Intermediate", "Advanced");
+
+    private static final String UPDATE_SQL = "UPDATE courses SET title = ?, description = ?, provider = ?, "
+            + "difficulty_level = ?, category = ?, estimated_duration = ?, rating = ?, is_free = ? WHERE course_url = ?";
+    // A URL added since the existence check (e.g. by AdminController.createCourse) is updated, not duplicated.
+    // PostgreSQL resolves the conflict atomically; MERGE is the portable form for other databases (H2)
+    private static final String POSTGRES_INSERT = "INSERT INTO courses (id, title, description, provider, course_url, "
+            + "difficulty_level, category, estimated_duration, rating, is_free, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (course_url) DO UPDATE SET "
+            + "title = EXCLUDED.title, description = EXCLUDED.description, provider = EXCLUDED.provider, "
+            + "difficulty_level = EXCLUDED.difficulty_level, category = EXCLUDED.category, "
+            + "estimated_duration = EXCLUDED.estimated_duration, rating = EXCLUDED.rating, is_free = EXCLUDED.is_free";
+    private static final String MERGE_INSERT = "MERGE INTO courses c USING (VALUES (CAST(? AS BIGINT), "
+            + "CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(1000)), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(500)), "
+            + "CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS DOUBLE PRECISION), "
+            + "CAST(? AS BOOLEAN), CAST(? AS TIMESTAMP))) v(id, title, description, provider, course_url, "
+            + "difficulty_level, category, estimated_duration, rating, is_free, created_at) "
+            + "ON c.course_url = v.course_url "
+            + "WHEN MATCHED THEN UPDATE SET title = v.title, description = v.description, provider = v.provider, "
+            + "difficulty_level = v.difficulty_level, category = v.category, "
+            + "estimated_duration = v.estimated_duration, rating = v.rating, is_free = v.is_free "
+            + "WHEN NOT MATCHED THEN INSERT (id, title, description, provider, course_url, difficulty_level, category, "
+            + "estimated_duration, rating, is_free, created_at) VALUES (v.id, v.title, v.description, v.provider, "
+            + "v.course_url, v.difficulty_level, v.category, v.estimated_duration, v.rating, v.is_free, v.created_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CourseCatalog courseCatalog;
+    private final CourseSearchIndex courseSearchIndex;
+    private final SequenceIdAllocator idAllocator;
+    private final int batchSize;
+    private final Timer importTimer;
+    private final ReentrantLock importLock = new ReentrantLock();
+    private volatile String insertSql;
+
+    private record ImportRow(long line, CourseDto course) {}
+
+    public CourseImportService(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper,
+                               CourseCatalog courseCatalog,
+                               CourseSearchIndex courseSearchIndex,
+                               SequenceIdAllocator idAllocator,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.course-import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.courseCatalog = courseCatalog;
+        this.courseSearchIndex = courseSearchIndex;
+        this.idAllocator = idAllocator;
+        this.batchSize = Math.max(1, batchSize);
+        this.importTimer = meterRegistry.timer("skillsync.course.import");
+    }
+
+    /**
+     * Imports every valid row of the input. Only one import runs at a time, since each ends by
+     * rebuilding the in-memory catalog; a second one is refused with 409 rather than left waiting.
+     */
+    public CourseImportResultDto importCourses(InputStream input, Format format) {
+        if (!importLock.tryLock()) {
+            throw new ApiException(HttpStatus.CONFLICT,
+                    "Another course import is running, try again when it has finished");
+        }
+        try {
+            return runImport(input, format);
+        } finally {
+            importLock.unlock();
+        }
+    }
+
+    private CourseImportResultDto runImport(InputStream input, Format format) {
+        long started = System.nanoTime();
+        Import run = new Import();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == Format.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+        } catch (IOException e) {
+            // The upload broke off; rows before that point are already stored, report them with the error
+            run.error(0, "Import stopped: " + e.getMessage());
+        } finally {
+            run.flush();
+            if (run.inserted + run.updated > 0) {
+                courseCatalog.reload();
+                courseSearchIndex.reload(courseCatalog.current().courses());
+            }
+        }
+
+        long elapsed = System.nanoTime() - started;
+        importTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        System.out.println("Course import: " + run.rows + " rows, " + run.inserted + " inserted, "
+                + run.updated + " updated, " + run.failed + " failed in " + elapsed / 1_000_000 + " ms");
+        return new CourseImportResultDto(run.rows, run.inserted, run.updated, run.failed, run.errors,
+                run.failed > run.errors.size(), elapsed / 1_000_000);
+    }
+
+    private void readCsv(BufferedReader reader, Import run) throws IOException {
+        CsvReader csv = new CsvReader(reader, MAX_RECORD_CHARS);
+        List<String> header;
+        try {
+            header = csv.next();
+        } catch (CsvReader.MalformedRecordException e) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "The CSV header is unreadable: " + e.getMessage());
+        }
+        if (header == null) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "The file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(column(header.get(i)), i);
+        }
+        if (!columns.containsKey("title") || !columns.containsKey("courseUrl")) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "The CSV header needs title and course_url columns");
+        }
+
+        while (true) {
+            List<String> record;
+            try {
+                record = csv.next();
+            } catch (CsvReader.MalformedRecordException e) {
+                run.rows++;
+                run.error(e.getRecordLine(), e.getMessage());
+                continue;
+            }
+            if (record == null) {
+                break;
+            }
+            run.rows++;
+            CourseDto course = new CourseDto();
+            course.setTitle(field(record, columns, "title"));
+            course.setDescription(field(record, columns, "description"));
+            course.setProvider(field(record, columns, "provider"));
+            course.setCourseUrl(field(record, columns, "courseUrl"));
+            course.setDifficultyLevel(field(record, columns, "difficultyLevel"));
+            course.setCategory(field(record, columns, "category"));
+            course.setEstimatedDuration(field(record, columns, "estimatedDuration"));
+            try {
+                String rating = field(record, columns, "rating");
+                course.setRating(rating != null ? Double.valueOf(rating) : null);
+            } catch (NumberFormatException e) {
+                run.error(csv.getRecordLine(), "rating is not a number");
+                continue;
+            }
+            String free = field(record, columns, "isFree");
+            if (free != null) {
+                Boolean parsed = parseBoolean(free);
+                if (parsed == null) {
+                    run.error(csv.getRecordLine(), "is_free must be true or false");
+                    continue;
+                }
+                course.setIsFree(parsed);
+            }
+            run.add(csv.getRecordLine(), course);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Import run) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            run.rows++;
+            if (line.length() > MAX_RECORD_CHARS) {
+                run.error(lineNumber, "Line is longer than " + MAX_RECORD_CHARS + " characters");
+                continue;
+            }
+            try {
+                run.add(lineNumber, objectMapper.readValue(line, CourseDto.class));
+            } catch (JsonProcessingException e) {
+                run.error(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * Maps header spellings ("course_url", "Course URL", "courseUrl") onto CourseDto property names.
+     */
+    private static String column(String header) {
+        String key = header.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        return switch (key) {
+            case "courseurl", "url" -> "courseUrl";
+            case "difficultylevel", "difficulty", "level" -> "difficultyLevel";
+            case "estimatedduration", "duration" -> "estimatedDuration";
+            case "isfree", "free" -> "isFree";
+            default -> key;
+        };
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1" -> true;
+            case "false", "no", "n", "0" -> false;
+            default -> null;
+        };
+    }
+
+    /**
+     * Checks a row against the column limits of the courses table and normalizes it in place.
+     * Returns the problem, or null when the row is valid.
+     */
+    private static String validate(CourseDto course) {
+        course.setTitle(trimToNull(course.getTitle()));
+        course.setCourseUrl(trimToNull(course.getCourseUrl()));
+        if (course.getTitle() == null) {
+            return "title is required";
+        }
+        if (course.getCourseUrl() == null) {
+            return "course_url is required";
+        }
+        String url = course.getCourseUrl().toLowerCase(Locale.ROOT);
+        if (!url.startsWith("https://") && !url.startsWith("http://")) {
+            return "course_url must be an http(s) URL";
+        }
+        String tooLong = tooLong("title", course.getTitle(), 255);
+        tooLong = tooLong != null ? tooLong : tooLong("course_url", course.getCourseUrl(), 500);
+        tooLong = tooLong != null ? tooLong : tooLong("description", course.getDescription(), 1000);
+        tooLong = tooLong != null ? tooLong : tooLong("provider", course.getProvider(), 255);
+        tooLong = tooLong != null ? tooLong : tooLong("category", course.getCategory(), 255);
+        tooLong = tooLong != null ? tooLong : tooLong("estimated_duration", course.getEstimatedDuration(), 255);
+        if (tooLong != null) {
+            return tooLong;
+        }
+        if (course.getRating() != null && (course.getRating() < 0 || course.getRating() > 5
+                || course.getRating().isNaN())) {
+            return "rating must be between 0 and 5";
+        }
+        if (course.getDifficultyLevel() != null) {
+            String level = LEVELS.stream().filter(course.getDifficultyLevel().trim()::equalsIgnoreCase)
+                    .findFirst().orElse(null);
+            if (level == null) {
+                return "difficulty_level must be Beginner, Intermediate or Advanced";
+            }
+            course.setDifficultyLevel(level);
+        }
+        if (course.getIsFree() == null) {
+            course.setIsFree(false);
+        }
+        return null;
+    }
+
+    private static String tooLong(String name, String value, int max) {
+        return value != null && value.length() > max ? name + " is longer than " + max + " characters" : null;
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * State of one import: counters, the first errors, and the batch being filled.
+     */
+    private final class Import {
+
+        private long rows;
+        private long inserted;
+        private long updated;
+        private long failed;
+        private final List<CourseImportResultDto.RowError> errors = new ArrayList<>();
+        // Keyed by URL; a URL repeated within a batch flushes the batch first, so the later row wins
+        private final Map<String, ImportRow> batch = new LinkedHashMap<>();
+
+        void add(long line, CourseDto course) {
+            String problem = validate(course);
+            if (problem != null) {
+                error(line, problem);
+                return;
+            }
+            if (batch.containsKey(course.getCourseUrl())) {
+                flush();
+            }
+            batch.put(course.getCourseUrl(), new ImportRow(line, course));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void error(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new CourseImportResultDto.RowError(line, message));
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<ImportRow> rowsToWrite = new ArrayList<>(batch.values());
+            batch.clear();
+            try {
+                int[] counts = transactionTemplate.execute(status -> write(rowsToWrite));
+                inserted += counts[0];
+                updated += counts[1];
+            } catch (DataAccessException e) {
+                // The batch was rolled back as a whole
+                String message = "Not stored, the batch failed: " + e.getMostSpecificCause().getMessage();
+                for (ImportRow row : rowsToWrite) {
+                    error(row.line(), message);
+                }
+            }
+        }
+
+        /**
+         * One query finds which URLs exist, then one batched UPDATE and one batched upsert. Returns the
+         * inserted and updated counts; a URL that appears between the query and the upsert is counted
+         * as inserted although it was updated.
+         */
+        private int[] write(List<ImportRow> rowsToWrite) {
+            Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(
+                    "SELECT course_url FROM courses WHERE course_url IN (:urls)",
+                    new MapSqlParameterSource("urls", rowsToWrite.stream().map(row -> row.course().getCourseUrl())
+                            .toList()),
+                    String.class));
+
+            List<Object[]> updates = new ArrayList<>();
+            List<CourseDto> newCourses = new ArrayList<>();
+            for (ImportRow row : rowsToWrite) {
+                CourseDto c = row.course();
+                if (existing.contains(c.getCourseUrl())) {
+                    updates.add(new Object[]{c.getTitle(), c.getDescription(), c.getProvider(), c.getDifficultyLevel(),
+                            c.getCategory(), c.getEstimatedDuration(), c.getRating(), c.getIsFree(), c.getCourseUrl()});
+                } else {
+                    newCourses.add(c);
+                }
+            }
+
+            List<Object[]> inserts = new ArrayList<>(newCourses.size());
+            long[] ids = idAllocator.reserve("courses_seq", newCourses.size());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < newCourses.size(); i++) {
+                CourseDto c = newCourses.get(i);
+                inserts.add(new Object[]{ids[i], c.getTitle(), c.getDescription(), c.getProvider(), c.getCourseUrl(),
+                        c.getDifficultyLevel(), c.getCategory(), c.getEstimatedDuration(), c.getRating(),
+                        c.getIsFree(), now});
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(insertSql(), inserts);
+            }
+            return new int[]{inserts.size(), updates.size()};
+        }
+    }
+
+    private String insertSql() {
+        if (insertSql == null) {
+            boolean postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+            insertSql = postgres ? POSTGRES_INSERT : MERGE_INSERT;
+        }
+        return insertSql;
+    }
+}
@@ -0,0 +1,220 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.CourseDto;
+import com.skillsync.dto.CourseMatchDto;
+import com.skillsync.util.LruCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Matches a skill gap (e.g. a recommendation's missing skills) to catalog courses. Each course is tagged
+ * with the skills its title, description and category mention, as a bitset over skill dictionary
+ * ordinals, so coverage is a popcount of two bitsets. Only courses sharing at least one skill with the
+ * gap are scored, and a bounded heap keeps the best few. Results are cached per gap signature.
+ */
+@Component
+public class CourseMatcher {
+
+    // Coverage dominates; rating, difficulty fit and price order courses that cover as much
+    private static final double COVERAGE_WEIGHT = 0.6;
+    private static final double RATING_WEIGHT = 0.2;
+    private static final double DIFFICULTY_WEIGHT = 0.15;
+    private static final double FREE_WEIGHT = 0.05;
+
+    private static final List<String> LEVELS = List.of("beginner", "intermediate", "advanced");
+
+    private final CourseCatalog courseCatalog;
+    private final SkillDictionary skillDictionary;
+    private final LruCache<String, List<CourseMatchDto>> cache;
+
+    private volatile MatchIndex index;
+    private int generation;
+
+    /**
+     * Course skill tags for one catalog snapshot and one dictionary vocabulary. {@code coursesBySkill}
+     * lists, per skill ordinal, the courses that teach it.
+     */
+    private record MatchIndex(CourseCatalog.Snapshot catalog, SkillDictionary.Vocabulary vocabulary, int generation,
+                              long[][] courseSkills, int[][] coursesBySkill) {}
+
+    private record Candidate(int course, double score, int covered) {}
+
+    public CourseMatcher(CourseCatalog courseCatalog,
+                         SkillDictionary skillDictionary,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.course-match.cache.max-size:2000}") int cacheSize) {
+        this.courseCatalog = courseCatalog;
+        this.skillDictionary = skillDictionary;
+        this.cache = new LruCache<>(cacheSize, null, meterRegistry, "skillsync.course_match.cache");
+    }
+
+    /**
+     * The best {@code limit} courses for the given skills. Skill names go through the dictionary, so
+     * aliases count; names it does not know cannot be matched and are ignored. {@code level} is the
+     * difficulty the learner is looking for, Beginner when not given.
+     */
+    public List<CourseMatchDto> match(Collection<String> skills, String level, int limit) {
+        MatchIndex current = currentIndex();
+        BitSet gap = new BitSet();
+        for (String skill : skills) {
+            SkillDictionary.Entry entry = skillDictionary.resolve(skill);
+            if (entry != null) {
+                gap.set(entry.ordinal());
+            }
+        }
+        if (gap.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int preferredLevel = Math.max(0, levelOf(level));
+        // The generation keeps results of an older catalog from being served after it changes
+        String signature = current.generation() + ":" + preferredLevel + ":" + limit + ":" + gap;
+        List<CourseMatchDto> cached = cache.get(signature);
+        if (cached != null) {
+            return cached;
+        }
+        List<CourseMatchDto> result = rank(current, gap, preferredLevel, limit);
+        cache.put(signature, result);
+        return result;
+    }
+
+    private List<CourseMatchDto> rank(MatchIndex current, BitSet gap, int preferredLevel, int limit) {
+        List<CourseDto> courses = current.catalog().courses();
+        long[] gapWords = gap.toLongArray();
+        int gapSize = gap.cardinality();
+
+        Comparator<Candidate> order = Comparator.comparingDouble(Candidate::score)
+                .thenComparing(candidate -> -courses.get(candidate.course()).getId());
+        // Min-heap: the weakest of the best candidates so far sits on top
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, order);
+        BitSet seen = new BitSet(courses.size());
+        for (int skill = gap.nextSetBit(0); skill >= 0; skill = gap.nextSetBit(skill + 1)) {
+            if (skill >= current.coursesBySkill().length) {
+                continue;
+            }
+            for (int course : current.coursesBySkill()[skill]) {
+                if (seen.get(course)) {
+                    continue;
+                }
+                seen.set(course);
+                int covered = intersectionSize(current.courseSkills()[course], gapWords);
+                best.offer(new Candidate(course, score(courses.get(course), covered, gapSize, preferredLevel),
+                        covered));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<CourseMatchDto> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Candidate candidate = best.poll();
+            ranked.add(0, toDto(courses.get(candidate.course()), current.courseSkills()[candidate.course()], gap,
+                    (double) candidate.covered() / gapSize, candidate.score()));
+        }
+        return List.copyOf(ranked);
+    }
+
+    private static double score(CourseDto course, int covered, int gapSize, int preferredLevel) {
+        double rating = course.getRating() != null ? Math.min(1, course.getRating() / 5) : 0;
+        int courseLevel = levelOf(course.getDifficultyLevel());
+        // Unknown difficulty counts as one step off
+        double difficultyFit = courseLevel < 0 ? 0.5 : 1 - Math.abs(courseLevel - preferredLevel) / 2.0;
+        double free = Boolean.TRUE.equals(course.getIsFree()) ? 1 : 0;
+        return COVERAGE_WEIGHT * covered / gapSize + RATING_WEIGHT * rating
+                + DIFFICULTY_WEIGHT * difficultyFit + FREE_WEIGHT * free;
+    }
+
+    private CourseMatchDto toDto(CourseDto course, long[] courseSkills, BitSet gap, double coverage, double score) {
+        BitSet taught = BitSet.valueOf(courseSkills);
+        taught.and(gap);
+        List<String> matched = new ArrayList<>(taught.cardinality());
+        for (int skill = taught.nextSetBit(0); skill >= 0; skill = taught.nextSetBit(skill + 1)) {
+            matched.add(skillDictionary.byOrdinal(skill).name());
+        }
+        return new CourseMatchDto(course, matched, coverage, score);
+    }
+
+    private static int intersectionSize(long[] a, long[] b) {
+        int count = 0;
+        for (int i = 0, n = Math.min(a.length, b.length); i < n; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    private static int levelOf(String level) {
+        return level == null ? -1 : LEVELS.indexOf(level.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * The index for the current catalog and vocabulary, retagging every course when either has changed.
+     */
+    private MatchIndex currentIndex() {
+        CourseCatalog.Snapshot catalog = courseCatalog.current();
+        SkillDictionary.Vocabulary vocabulary = skillDictionary.vocabulary();
+        MatchIndex current = index;
+        if (current != null && current.catalog() == catalog && current.vocabulary() == vocabulary) {
+            return current;
+        }
+        synchronized (this) {
+            current = index;
+            if (current == null || current.catalog() != catalog || current.vocabulary() != vocabulary) {
+                current = build(catalog, vocabulary, ++generation);
+                index = current;
+            }
+            return current;
+        }
+    }
+
+    private MatchIndex build(CourseCatalog.Snapshot catalog, SkillDictionary.Vocabulary vocabulary, int generation) {
+        // Vocabulary terms include aliases; resolve each to its skill once
+        int[] termSkill = new int[vocabulary.terms().size()];
+        for (int term = 0; term < termSkill.length; term++) {
+            SkillDictionary.Entry entry = skillDictionary.resolve(vocabulary.terms().get(term));
+            termSkill[term] = entry != null ? entry.ordinal() : -1;
+        }
+
+        List<CourseDto> courses = catalog.courses();
+        long[][] courseSkills = new long[courses.size()][];
+        int[] coursesPerSkill = new int[skillDictionary.size()];
+        for (int course = 0; course < courses.size(); course++) {
+            CourseDto dto = courses.get(course);
+            BitSet skills = new BitSet();
+            String text = Objects.toString(dto.getTitle(), "") + "\n" + Objects.toString(dto.getDescription(), "")
+                    + "\n" + Objects.toString(dto.getCategory(), "");
+            vocabulary.matcher().forEachMatch(text, term -> {
+                if (termSkill[term] >= 0) {
+                    skills.set(termSkill[term]);
+                }
+            });
+            courseSkills[course] = skills.toLongArray();
+            for (int skill = skills.nextSetBit(0); skill >= 0; skill = skills.nextSetBit(skill + 1)) {
+                coursesPerSkill[skill]++;
+            }
+        }
+
+        int[][] coursesBySkill = new int[coursesPerSkill.length][];
+        for (int skill = 0; skill < coursesPerSkill.length; skill++) {
+            coursesBySkill[skill] = new int[coursesPerSkill[skill]];
+            coursesPerSkill[skill] = 0;
+        }
+        for (int course = 0; course < courseSkills.length; course++) {
+            BitSet skills = BitSet.valueOf(courseSkills[course]);
+            for (int skill = skills.nextSetBit(0); skill >= 0; skill = skills.nextSetBit(skill + 1)) {
+                coursesBySkill[skill][coursesPerSkill[skill]++] = course;
+            }
+        }
+        return new MatchIndex(catalog, vocabulary, generation, courseSkills, coursesBySkill);
+    }
+}
@@ -0,0 +1,464 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.CourseDto;
+import com.skillsync.repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text index over the course catalog (title, description, provider and category).
+ * Matches are ranked with BM25, with field weights so a title hit counts more than a description hit,
+ * and a trie over the indexed terms answers prefix autocomplete, most widely used terms first.
+ * Loaded at startup and extended as courses are created; searches never touch the database.
+ */
+@Component
+public class CourseSearchIndex implements ApplicationRunner {
+
+    // Standard BM25 parameters: term-frequency saturation and length normalization
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int PROVIDER_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final int SUGGESTIONS_PER_NODE = 10;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+            "of", "on", "or", "the", "this", "that", "to", "with", "your", "you");
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Documents by dense number, in insertion order; replaced courses stay as deleted slots
+    private final List<CourseDto> documents = new ArrayList<>();
+    private int[] documentLengths = new int[256];
+    private final BitSet deleted = new BitSet();
+    private final Map<Long, Integer> documentByCourseId = new HashMap<>();
+    private long totalLength;
+    private int liveDocuments;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private TrieNode trie = new TrieNode();
+
+    /**
+     * A ranked page of matches. {@code total} counts every match, not just the page.
+     */
+    public record SearchResult(List<CourseDto> items, int total) {}
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reload(courseRepository.findAll().stream().map(CourseService::convertToDto).toList());
+    }
+
+    /**
+     * Rebuilds the index from the given courses. The trie is built in one pass, most frequent
+     * terms first, rather than maintained term by term.
+     */
+    public void reload(Collection<CourseDto> courses) {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            deleted.clear();
+            documentByCourseId.clear();
+            postings.clear();
+            totalLength = 0;
+            liveDocuments = 0;
+            for (CourseDto course : courses) {
+                addDocument(course);
+            }
+
+            trie = new TrieNode();
+            List<Map.Entry<String, Postings>> byFrequency = new ArrayList<>(postings.entrySet());
+            byFrequency.sort((a, b) -> Integer.compare(b.getValue().live, a.getValue().live));
+            for (Map.Entry<String, Postings> entry : byFrequency) {
+                TrieNode node = trie;
+                for (int i = 0; i < entry.getKey().length(); i++) {
+                    node = node.child(entry.getKey().charAt(i), true);
+                    if (node.suggestions.length < SUGGESTIONS_PER_NODE) {
+                        node.suggestions = append(node.suggestions, entry.getKey());
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Course search index built with " + liveDocuments + " courses and "
+                + postings.size() + " terms");
+    }
+
+    /**
+     * Adds a course, or replaces it if it is already indexed.
+     */
+    public void add(CourseDto course) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = documentByCourseId.get(course.getId());
+            if (previous != null) {
+                removeDocument(previous);
+            }
+            for (String term : addDocument(course)) {
+                updateSuggestions(term);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks courses against the query terms (any term may match), optionally restricted to a category
+     * and difficulty, and returns {@code limit} results starting at {@code offset}.
+     */
+    public SearchResult search(String query, String category, String difficulty, int offset, int limit) {
+        Map<String, Integer> queryTerms = termFrequencies(query);
+        if (queryTerms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            float[] scores = new float[documents.size()];
+            int[] candidates = new int[16];
+            int candidateCount = 0;
+            float averageLength = liveDocuments == 0 ? 1 : (float) totalLength / liveDocuments;
+
+            for (String term : queryTerms.keySet()) {
+                Postings list = postings.get(term);
+                if (list == null || list.live == 0) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (liveDocuments - list.live + 0.5) / (list.live + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int document = list.documents[i];
+                    if (deleted.get(document)) {
+                        continue;
+                    }
+                    int frequency = list.frequencies[i];
+                    float norm = K1 * (1 - B + B * documentLengths[document] / averageLength);
+                    if (scores[document] == 0) {
+                        if (candidateCount == candidates.length) {
+                            candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                        }
+                        candidates[candidateCount++] = document;
+                    }
+                    scores[document] += idf * frequency * (K1 + 1) / (frequency + norm);
+                }
+            }
+
+            // Bounded min-heap of the best offset + limit documents
+            int wanted = (int) Math.min(Integer.MAX_VALUE, (long) Math.max(0, offset) + limit);
+            int[] heap = new int[Math.max(1, Math.min(wanted, candidateCount))];
+            int heapSize = 0;
+            int total = 0;
+            for (int c = 0; c < candidateCount; c++) {
+                int document = candidates[c];
+                CourseDto course = documents.get(document);
+                if (!matches(category, course.getCategory()) || !matches(difficulty, course.getDifficultyLevel())) {
+                    continue;
+                }
+                total++;
+                if (heapSize < wanted) {
+                    heap[heapSize] = document;
+                    siftUp(heap, heapSize++, scores);
+                } else if (wanted > 0 && ranksBefore(document, heap[0], scores)) {
+                    heap[0] = document;
+                    siftDown(heap, heapSize, scores);
+                }
+            }
+
+            // Drain worst-first into the tail of the ranked array
+            CourseDto[] ranked = new CourseDto[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                ranked[i] = documents.get(heap[0]);
+                heap[0] = heap[--heapSize];
+                siftDown(heap, heapSize, scores);
+            }
+            int from = Math.min(Math.max(0, offset), ranked.length);
+            return new SearchResult(List.of(ranked).subList(from, ranked.length), total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Completes the last word of the input from the indexed terms, most widely used first.
+     * Earlier words are kept as typed, so "spring bo" suggests "spring boot".
+     */
+    public List<String> autocomplete(String input, int limit) {
+        if (input == null || input.isBlank()) {
+            return List.of();
+        }
+        String lower = input.toLowerCase(Locale.ROOT);
+        int wordStart = lower.length();
+        while (wordStart > 0 && isTermChar(lower.charAt(wordStart - 1))) {
+            wordStart--;
+        }
+        String prefix = lower.substring(wordStart);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        String leading = lower.substring(0, wordStart);
+
+        lock.readLock().lock();
+        try {
+            TrieNode node = trie;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i), false);
+            }
+            if (node == null) {
+                return List.of();
+            }
+            List<String> suggestions = new ArrayList<>();
+            for (int i = 0; i < node.suggestions.length && suggestions.size() < limit; i++) {
+                suggestions.add(leading + node.suggestions[i]);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<String> addDocument(CourseDto course) {
+        int[] length = new int[1];
+        Map<String, Integer> frequencies = documentTerms(course, length);
+
+        int document = documents.size();
+        documents.add(course);
+        if (document == documentLengths.length) {
+            documentLengths = Arrays.copyOf(documentLengths, document * 2);
+        }
+        documentLengths[document] = length[0];
+        documentByCourseId.put(course.getId(), document);
+        totalLength += length[0];
+        liveDocuments++;
+
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(document, entry.getValue());
+        }
+        return frequencies.keySet();
+    }
+
+    private void removeDocument(int document) {
+        deleted.set(document);
+        totalLength -= documentLengths[document];
+        liveDocuments--;
+        for (String term : documentTerms(documents.get(document), new int[1]).keySet()) {
+            Postings list = postings.get(term);
+            list.live--;
+            updateSuggestions(term);
+        }
+    }
+
+    /**
+     * Weighted term frequencies of all indexed fields; the weighted token count goes to {@code length[0]}.
+     */
+    private static Map<String, Integer> documentTerms(CourseDto course, int[] length) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        length[0] += addTerms(course.getTitle(), TITLE_WEIGHT, frequencies);
+        length[0] += addTerms(course.getCategory(), CATEGORY_WEIGHT, frequencies);
+        length[0] += addTerms(course.getProvider(), PROVIDER_WEIGHT, frequencies);
+        length[0] += addTerms(course.getDescription(), DESCRIPTION_WEIGHT, frequencies);
+        return frequencies;
+    }
+
+    private static int addTerms(String text, int weight, Map<String, Integer> frequencies) {
+        Map<String, Integer> terms = termFrequencies(text);
+        int count = 0;
+        for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+            frequencies.merge(entry.getKey(), entry.getValue() * weight, Integer::sum);
+            count += entry.getValue() * weight;
+        }
+        return count;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits ('+' and '#' included, for C++ and C#), minus stop words.
+     */
+    static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        if (text == null) {
+            return terms;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean termChar = i < length && isTermChar(text.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                String term = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(term)) {
+                    terms.merge(term, 1, Integer::sum);
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static boolean isTermChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || filter.isBlank() || filter.equalsIgnoreCase(value);
+    }
+
+    /**
+     * Keeps each trie node on the term's path listing its most frequent completions after a change
+     * in the term's document count.
+     */
+    private void updateSuggestions(String term) {
+        int frequency = postings.get(term).live;
+        TrieNode node = trie;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.child(term.charAt(i), true);
+            String[] current = node.suggestions;
+            List<String> updated = new ArrayList<>(current.length + 1);
+            for (String suggestion : current) {
+                if (!suggestion.equals(term)) {
+                    updated.add(suggestion);
+                }
+            }
+            if (frequency > 0) {
+                int position = 0;
+                while (position < updated.size() && postings.get(updated.get(position)).live >= frequency) {
+                    position++;
+                }
+                updated.add(position, term);
+            }
+            node.suggestions = updated.subList(0, Math.min(updated.size(), SUGGESTIONS_PER_NODE))
+                    .toArray(new String[0]);
+        }
+    }
+
+    private static boolean ranksBefore(int a, int b, float[] scores) {
+        // Equal scores fall back to insertion order, so results are stable
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], heap[index], scores)) {
+                break;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int index = 0;
+        while (true) {
+            int worst = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && ranksBefore(heap[worst], heap[left], scores)) {
+                worst = left;
+            }
+            if (right < size && ranksBefore(heap[worst], heap[right], scores)) {
+                worst = right;
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(heap, index, worst);
+            index = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    private static String[] append(String[] array, String value) {
+        String[] extended = Arrays.copyOf(array, array.length + 1);
+        extended[array.length] = value;
+        return extended;
+    }
+
+    /**
+     * Documents containing a term, in ascending document order, with the weighted frequency in each.
+     */
+    private static final class Postings {
+        int[] documents = new int[4];
+        int[] frequencies = new int[4];
+        int size;
+        int live; // Documents not deleted
+
+        void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size++] = frequency;
+            live++;
+        }
+    }
+
+    /**
+     * Children are kept in sorted parallel arrays, much smaller than a map per node.
+     */
+    private static final class TrieNode {
+        private static final char[] NO_KEYS = new char[0];
+        private static final TrieNode[] NO_CHILDREN = new TrieNode[0];
+        private static final String[] NO_SUGGESTIONS = new String[0];
+
+        char[] keys = NO_KEYS;
+        TrieNode[] children = NO_CHILDREN;
+        String[] suggestions = NO_SUGGESTIONS;
+
+        TrieNode child(char key, boolean create) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            if (!create) {
+                return null;
+            }
+            int insert = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            TrieNode[] newChildren = new TrieNode[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insert);
+            System.arraycopy(children, 0, newChildren, 0, insert);
+            System.arraycopy(keys, insert, newKeys, insert + 1, keys.length - insert);
+            System.arraycopy(children, insert, newChildren, insert + 1, keys.length - insert);
+            newKeys[insert] = key;
+            newChildren[insert] = new TrieNode();
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insert];
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.skillsync.service;
 
 import com.skillsync.dto.CourseDto;
+import com.skillsync.dto.CoursePageDto;
 import com.skillsync.exception.ApiException;
 import com.skillsync.model.Course;
 import com.skillsync.repository.CourseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -17,10 +23,84 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Autowired
+    private CourseCatalog courseCatalog;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+
     public List<CourseDto> getAllCourses() {
-        return courseRepository.findAll().stream()
-                .map(this::convertToDto)
+        return courseCatalog.current().courses();
+    }
+
+    /**
+     * One page of the courses matching every given filter; null filters are ignored. Each combination
+     * becomes a plain conjunctive query, so the composite indexes on courses apply.
+     */
+    public CoursePageDto searchCourses(String category, String difficulty, String provider, Boolean free,
+                                       Double minRating, String sort, int page, int size) {
+        Specification<Course> filters = Specification.allOf(
+                equalTo("category", category),
+                equalTo("difficultyLevel", difficulty),
+                equalTo("provider", provider),
+                equalTo("isFree", free),
+                minRating != null ? (root, query, cb) -> cb.ge(root.get("rating"), minRating) : null);
+
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page),
+                Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE)), searchOrder(sort));
+        Page<Course> result = courseRepository.findAll(filters, pageRequest);
+
+        List<CourseDto> items = result.getContent().stream()
+                .map(CourseService::convertToDto)
                 .collect(Collectors.toList());
+        return new CoursePageDto(items, result.getNumber(), result.getSize(), result.getTotalElements(),
+                result.hasNext());
+    }
+
+    /**
+     * Full-text search over the in-memory index, best match first. Category and difficulty narrow
+     * the matches; unlike {@link #searchCourses} this reads nothing from the database.
+     */
+    public CoursePageDto textSearch(String query, String category, String difficulty, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Search text is required");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        long offset = (long) pageNumber * pageSize;
+        if (offset > Integer.MAX_VALUE) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Page " + page + " is out of range");
+        }
+        CourseSearchIndex.SearchResult result = courseSearchIndex.search(query, category, difficulty,
+                (int) offset, pageSize);
+        return new CoursePageDto(result.items(), pageNumber, pageSize, result.total(),
+                (long) (pageNumber + 1) * pageSize < result.total());
+    }
+
+    public List<String> autocomplete(String prefix, int limit) {
+        return courseSearchIndex.autocomplete(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    private static Specification<Course> equalTo(String attribute, Object value) {
+        if (value == null || (value instanceof String text && text.isBlank())) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private static Sort searchOrder(String sort) {
+        // The id tie-breaker keeps page boundaries stable between requests
+        return switch (sort == null ? "rating" : sort) {
+            // Unrated courses last; PostgreSQL would otherwise put NULLs first in descending order
+            case "rating" -> Sort.by(Sort.Order.desc("rating").nullsLast(), Sort.Order.asc("id"));
+            case "newest" -> Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+            case "title" -> Sort.by(Sort.Order.asc("title"), Sort.Order.asc("id"));
+            default -> throw new ApiException(HttpStatus.BAD_REQUEST, "Unknown sort: " + sort
+                    + " (use rating, newest or title)");
+        };
     }
 
     public CourseDto getCourseById(Long id) {
@@ -31,27 +111,43 @@ public class CourseService {
 
     public List<CourseDto> getCoursesByCategory(String category) {
         return courseRepository.findByCategory(category).stream()
-                .map(this::convertToDto)
+                .map(CourseService::convertToDto)
                 .collect(Collectors.toList());
     }
 
     public CourseDto createCourse(CourseDto courseDto) {
+        String courseUrl = courseDto.getCourseUrl() == null || courseDto.getCourseUrl().isBlank()
+                ? null : courseDto.getCourseUrl().trim();
+        if (courseUrl != null && courseRepository.existsByCourseUrl(courseUrl)) {
+            throw new ApiException(HttpStatus.CONFLICT, "A course with this URL already exists");
+        }
+
         Course course = new Course();
         course.setTitle(courseDto.getTitle());
         course.setDescription(courseDto.getDescription());
         course.setProvider(courseDto.getProvider());
-        course.setCourseUrl(courseDto.getCourseUrl());
+        course.setCourseUrl(courseUrl);
         course.setDifficultyLevel(courseDto.getDifficultyLevel());
         course.setCategory(courseDto.getCategory());
         course.setEstimatedDuration(courseDto.getEstimatedDuration());
         course.setRating(courseDto.getRating());
         course.setIsFree(courseDto.getIsFree());
 
-        Course saved = courseRepository.save(course);
-        return convertToDto(saved);
+        Course saved;
+        try {
+            saved = courseRepository.save(course);
+        } catch (DataIntegrityViolationException e) {
+            // Another request or an import stored the same URL since the check
+            throw new ApiException(HttpStatus.CONFLICT, "A course with this URL already exists");
+        }
+        CourseDto created = convertToDto(saved);
+        // save() has committed by now, so the course is listed and searchable as soon as it exists
+        courseCatalog.add(created);
+        courseSearchIndex.add(created);
+        return created;
     }
 
-    private CourseDto convertToDto(Course course) {
+    static CourseDto convertToDto(Course course) {
         CourseDto dto = new CourseDto();
         dto.setId(course.getId());
         dto.setTitle(course.getTitle());
@@ -0,0 +1,168 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.AIRecommendation;
+import com.skillsync.util.KeywordMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Rule-based recommender served whenever the AI is unavailable.
+ * Scores each career domain by the weighted keywords found in the prompt (one pass over the text)
+ * and returns that domain's precomputed, immutable recommendation.
+ */
+@Component
+public class FallbackRecommender {
+
+    enum Domain {
+        // Declaration order breaks ties between equal scores
+        UI_UX(
+                List.of("UI/UX Designer", "Product Designer", "Interaction Designer"),
+                List.of("Advanced Figma Prototyping", "User Research Methods", "Design Systems", "Usability Testing"),
+                List.of("Google UX Design Professional Certificate - Coursera",
+                        "UI/UX Design Specialization - Coursera",
+                        "Advanced Figma: Design Systems - Udemy"),
+                List.of("Design a complete mobile app with user research and testing",
+                        "Create a design system for a SaaS product"),
+                "As a UI/UX designer, you have a great foundation in design principles. " +
+                        "Focus on expanding your user research skills, learn advanced prototyping techniques, " +
+                        "and build a strong portfolio showcasing your design process from research to final designs. " +
+                        "Understanding basic HTML/CSS can also help you collaborate better with developers."),
+        FRONTEND(
+                List.of("Frontend Developer", "React Developer", "UI Developer"),
+                List.of("TypeScript", "Next.js", "State Management (Redux/Zustand)",
+                        "Testing (Jest, React Testing Library)"),
+                List.of("React - The Complete Guide - Udemy",
+                        "TypeScript for React Developers - Udemy",
+                        "Next.js & React - The Complete Guide - Udemy"),
+                List.of("Build a responsive e-commerce site with React and TypeScript",
+                        "Create a real-time chat application with WebSockets"),
+                "With your frontend skills, you're well-positioned for modern web development roles. " +
+                        "Master TypeScript and a modern framework like Next.js to stay competitive. " +
+                        "Focus on performance optimization, accessibility, and testing to become a senior developer."),
+        DATA_SCIENCE(
+                List.of("Data Analyst", "Data Scientist", "Machine Learning Engineer"),
+                List.of("Advanced Python (Pandas, NumPy)", "Machine Learning Algorithms", "SQL and Database Design",
+                        "Data Visualization (Tableau, Power BI)"),
+                List.of("Machine Learning Specialization - Coursera",
+                        "Python for Data Science - Udemy",
+                        "SQL for Data Analysis - Coursera"),
+                List.of("Build a predictive model for customer churn",
+                        "Create an interactive dashboard for sales analytics"),
+                "Data science is a rapidly growing field with excellent opportunities. " +
+                        "Strengthen your statistical knowledge, master Python libraries, and build a portfolio " +
+                        "of data projects showcasing your analytical and visualization skills."),
+        DEVOPS(
+                List.of("DevOps Engineer", "Cloud Engineer", "Site Reliability Engineer"),
+                List.of("Kubernetes", "CI/CD Pipelines", "Infrastructure as Code (Terraform)", "Monitoring and Logging"),
+                List.of("Docker Mastery - Udemy",
+                        "Kubernetes for Beginners - Udemy",
+                        "AWS Certified Solutions Architect - Udemy"),
+                List.of("Set up a complete CI/CD pipeline for a microservices app",
+                        "Deploy a scalable application on Kubernetes"),
+                "DevOps engineers are in high demand. Focus on mastering containerization, " +
+                        "cloud platforms, and automation. Get hands-on experience with real deployments " +
+                        "and consider getting AWS or Azure certifications."),
+        BACKEND(
+                List.of("Backend Developer", "Java Developer", "API Developer"),
+                List.of("Spring Boot", "REST API Design", "Microservices Architecture", "Database Optimization"),
+                List.of("Spring Boot Masterclass - Udemy",
+                        "RESTful Web Services - Udemy",
+                        "SQL for Data Science - Coursera"),
+                List.of("Build a RESTful API for a Library Management System",
+                        "Create a Microservices-based E-commerce Platform"),
+                "Backend development offers stable career opportunities. Master Spring Boot, " +
+                        "understand microservices architecture, and learn database optimization. " +
+                        "Building scalable APIs and understanding cloud deployment will make you highly valuable."),
+        FULL_STACK(
+                List.of("Full Stack Developer", "Software Engineer", "Web Developer"),
+                List.of("Modern Frontend Framework (React/Vue)", "Backend Framework (Spring Boot/Node.js)",
+                        "Database Management", "Version Control (Git)"),
+                List.of("Full Stack Web Development - Coursera",
+                        "React - The Complete Guide - Udemy",
+                        "Node.js - The Complete Guide - Udemy"),
+                List.of("Build a full-stack social media application",
+                        "Create a task management system with real-time updates"),
+                "As a full stack developer, you can work on both frontend and backend. " +
+                        "Focus on mastering one stack deeply (like MERN or Spring Boot + React), " +
+                        "then expand your knowledge. Build complete applications to showcase your skills.");
+
+        private final AIRecommendation recommendations;
+
+        Domain(List<String> roles, List<String> missingSkills, List<String> courses, List<String> projects,
+               String insights) {
+            this.recommendations = new AIRecommendation(roles, missingSkills, courses, projects, insights,
+                    AIRecommendation.Source.FALLBACK);
+        }
+    }
+
+    private record WeightedKeyword(Domain domain, int weight, String keyword) {}
+
+    private static final Domain[] DOMAINS = Domain.values();
+
+    // Strong, specific signals weigh 3; broad or ambiguous ones less
+    private static final List<WeightedKeyword> KEYWORDS = Stream.of(
+            keywords(Domain.UI_UX, 3, "ux", "ui/ux", "figma", "user interface", "user experience", "user research"),
+            keywords(Domain.UI_UX, 2, "ui", "sketch", "prototyping", "wireframing", "product design"),
+            keywords(Domain.UI_UX, 1, "design"),
+            keywords(Domain.FRONTEND, 3, "react", "frontend", "front-end", "front end", "vue", "angular", "next.js"),
+            keywords(Domain.FRONTEND, 2, "javascript", "typescript", "css", "html", "web design", "redux", "tailwind"),
+            keywords(Domain.DATA_SCIENCE, 3, "data science", "data analysis", "machine learning", "deep learning",
+                    "pandas", "numpy"),
+            keywords(Domain.DATA_SCIENCE, 2, "data", "analytics", "ml", "statistics", "tableau", "power bi"),
+            keywords(Domain.DATA_SCIENCE, 1, "python"),
+            keywords(Domain.DEVOPS, 3, "devops", "docker", "kubernetes", "k8s", "terraform", "ci/cd", "sre"),
+            keywords(Domain.DEVOPS, 2, "cloud", "aws", "azure", "gcp", "jenkins"),
+            keywords(Domain.BACKEND, 3, "java", "spring", "backend", "back-end", "back end"),
+            keywords(Domain.BACKEND, 2, "api", "rest api", "microservices", "node.js", "hibernate", "kotlin"),
+            keywords(Domain.BACKEND, 1, "database", "sql")
+    ).flatMap(List::stream).toList();
+
+    private static final KeywordMatcher MATCHER = KeywordMatcher.compile(
+            KEYWORDS.stream().map(WeightedKeyword::keyword).toList());
+
+    /**
+     * Returns the recommendations of the best scoring domain, or the full stack path when nothing matches.
+     * The returned recommendation is immutable and shared between calls.
+     */
+    public AIRecommendation recommend(String prompt) {
+        int[] scores = scores(prompt);
+        Domain best = Domain.FULL_STACK;
+        int bestScore = 0;
+        for (Domain domain : DOMAINS) {
+            if (scores[domain.ordinal()] > bestScore) {
+                best = domain;
+                bestScore = scores[domain.ordinal()];
+            }
+        }
+        return best.recommendations;
+    }
+
+    /**
+     * Score of each domain, indexed by ordinal: the summed weights of every keyword occurrence.
+     */
+    int[] scores(String prompt) {
+        int[] scores = new int[DOMAINS.length];
+        MATCHER.forEachMatch(prompt, index -> {
+            WeightedKeyword match = KEYWORDS.get(index);
+            scores[match.domain().ordinal()] += match.weight();
+        });
+        return scores;
+    }
+
+    /**
+     * Keyword occurrences in the prompt, in the order the matcher reports them.
+     */
+    List<String> matchedKeywords(String prompt) {
+        List<String> matched = new ArrayList<>();
+        MATCHER.forEachMatch(prompt, index -> matched.add(KEYWORDS.get(index).keyword()));
+        return matched;
+    }
+
+    private static List<WeightedKeyword> keywords(Domain domain, int weight, String... keywords) {
+        return Arrays.stream(keywords).map(keyword -> new WeightedKeyword(domain, weight, keyword)).toList();
+    }
+}
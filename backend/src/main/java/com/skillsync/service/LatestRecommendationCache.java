@@ -0,0 +1,59 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.CareerRecommendationDto;
+import com.skillsync.util.LruCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounded per-user cache of the latest recommendation, the read behind every dashboard load.
+ * Filled on read misses and replaced whenever a newer recommendation is saved. Each entry also keeps
+ * the profile fingerprint the recommendation was generated from, so telling whether a profile has
+ * changed since needs no query either.
+ */
+@Component
+public class LatestRecommendationCache {
+
+    private final LruCache<Long, Entry> cache;
+
+    /**
+     * {@code profileHash} is null unless the recommendation is a complete AI answer.
+     */
+    public record Entry(CareerRecommendationDto recommendation, String profileHash) {}
+
+    public LatestRecommendationCache(MeterRegistry meterRegistry,
+                                     @Value("${app.recommendation.latest-cache.max-size:10000}") int maxSize) {
+        this.cache = new LruCache<>(maxSize, null, meterRegistry, "skillsync.recommendation.latest_cache");
+    }
+
+    public Entry get(Long userId) {
+        return cache.get(userId);
+    }
+
+    /**
+     * Stores the recommendation unless a newer one is already cached, so a slow read
+     * finishing after a save cannot put back the older row.
+     */
+    public void update(Long userId, CareerRecommendationDto recommendation, String profileHash) {
+        cache.merge(userId, new Entry(recommendation, profileHash), (current, candidate) ->
+                candidate.recommendation().getId() >= current.recommendation().getId() ? candidate : current);
+    }
+
+    public void invalidate(Long userId) {
+        cache.remove(userId);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", cache.size());
+        stats.put("maxSize", cache.getMaxSize());
+        stats.put("hits", cache.getHits());
+        stats.put("misses", cache.getMisses());
+        stats.put("evictions", cache.getEvictions());
+        return stats;
+    }
+}
@@ -3,18 +3,26 @@ package com.skillsync.service;
 import com.skillsync.dto.ProfileDto;
 import com.skillsync.exception.ApiException;
 import com.skillsync.model.Skill;
-import com.skillsync.model.User;
 import com.skillsync.model.UserProfile;
 import com.skillsync.repository.SkillRepository;
 import com.skillsync.repository.UserProfileRepository;
 import com.skillsync.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,15 +37,23 @@ public class ProfileService {
     @Autowired
     private SkillRepository skillRepository;
 
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Transactional
     public ProfileDto createOrUpdateProfile(Long userId, ProfileDto profileDto) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "User not found"));
+        if (!userRepository.existsById(userId)) {
+            throw new ApiException(HttpStatus.NOT_FOUND, "User not found");
+        }
 
-        UserProfile profile = profileRepository.findByUserId(userId)
+        UserProfile profile = profileRepository.findWithSkillsByUserId(userId)
                 .orElse(new UserProfile());
 
-        profile.setUser(user);
+        // Only the user's id is needed, so don't load the row
+        profile.setUser(userRepository.getReferenceById(userId));
         profile.setFullName(profileDto.getFullName());
         profile.setEducationLevel(profileDto.getEducationLevel());
         profile.setCareerGoal(profileDto.getCareerGoal());
@@ -46,30 +62,112 @@ public class ProfileService {
 
         // Handle skills
         if (profileDto.getSkills() != null && !profileDto.getSkills().isEmpty()) {
-            Set<Skill> skills = new HashSet<>();
-            for (String skillName : profileDto.getSkills()) {
-                Skill skill = skillRepository.findByName(skillName)
-                        .orElseGet(() -> {
-                            Skill newSkill = new Skill();
-                            newSkill.setName(skillName);
-                            newSkill.setCategory("General");
-                            return skillRepository.save(newSkill);
-                        });
-                skills.add(skill);
-            }
-            profile.setSkills(skills);
+            applySkills(profile, profileDto.getSkills());
         }
 
-        UserProfile savedProfile = profileRepository.save(profile);
+        // A loaded profile is already managed and flushed on commit; merging it again would cascade
+        // into the skill references and load each one
+        UserProfile savedProfile = profile.getId() == null ? profileRepository.save(profile) : profile;
         return convertToDto(savedProfile);
     }
 
+    /**
+     * Partial update: only the fields present (non-null) in the request are applied, and skills, when
+     * given, replace the current set by diff. A request that changes nothing writes nothing, so
+     * updated_at and the join rows are left alone.
+     */
+    @Transactional
+    public ProfileDto patchProfile(Long userId, ProfileDto patch) {
+        UserProfile profile = profileRepository.findWithSkillsByUserId(userId)
+                .orElseThrow(() -> userRepository.existsById(userId)
+                        ? new ApiException(HttpStatus.NOT_FOUND, "Profile not found. Please create a profile first.")
+                        : new ApiException(HttpStatus.NOT_FOUND, "User not found"));
+
+        boolean changed = apply(patch.getFullName(), profile.getFullName(), profile::setFullName);
+        changed |= apply(patch.getEducationLevel(), profile.getEducationLevel(), profile::setEducationLevel);
+        changed |= apply(patch.getCareerGoal(), profile.getCareerGoal(), profile::setCareerGoal);
+        changed |= apply(patch.getInterests(), profile.getInterests(), profile::setInterests);
+        changed |= apply(patch.getYearsOfExperience(), profile.getYearsOfExperience(), profile::setYearsOfExperience);
+        if (patch.getSkills() != null) {
+            changed |= applySkills(profile, patch.getSkills());
+        }
+
+        // Untouched entities are not dirty, so the commit flushes no statement at all
+        meterRegistry.counter("skillsync.profile.patches", "result", changed ? "changed" : "unchanged").increment();
+        return convertToDto(profile);
+    }
+
     public ProfileDto getProfileByUserId(Long userId) {
-        UserProfile profile = profileRepository.findByUserId(userId)
+        UserProfile profile = profileRepository.findWithSkillsByUserId(userId)
                 .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "Profile not found"));
         return convertToDto(profile);
     }
 
+    private static <T> boolean apply(T value, T current, Consumer<T> setter) {
+        if (value == null || value.equals(current)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    /**
+     * Brings the profile's skills in line with the names in place, so only added and removed
+     * links are written. Returns whether anything changed.
+     */
+    private boolean applySkills(UserProfile profile, Collection<String> skillNames) {
+        Set<Skill> skills = resolveSkills(skillNames);
+        boolean changed = profile.getSkills().retainAll(skills);
+        changed |= profile.getSkills().addAll(skills);
+        if (changed) {
+            // Join rows alone don't make the profile row dirty; updated_at drives changed-since batches
+            profile.setUpdatedAt(LocalDateTime.now());
+        }
+        return changed;
+    }
+
+    /**
+     * Resolves skill names through the dictionary, so known skills cost no query; spelling variants
+     * and aliases land on the same skill. Names the dictionary does not know are created in constant
+     * round trips: one batched insert and one IN query for the new rows.
+     */
+    private Set<Skill> resolveSkills(Collection<String> skillNames) {
+        Set<Skill> skills = new HashSet<>();
+        // Unknown names keyed by their dictionary key, so "Rust" and "rust" create one skill
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (String name : skillNames) {
+            SkillDictionary.Entry known = skillDictionary.resolve(name);
+            if (known != null) {
+                // A reference is enough to link the skill; nothing is read from the skills table
+                skills.add(skillRepository.getReferenceById(known.id()));
+            } else {
+                String canonical = skillDictionary.canonicalName(name);
+                if (canonical != null) {
+                    missing.putIfAbsent(SkillDictionary.key(canonical), canonical);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            // Also picks up rows created since the dictionary was loaded, e.g. by another instance
+            skillRepository.insertMissing(missing.values(), "General");
+            List<Skill> created = skillRepository.findByNameIn(missing.values());
+            skills.addAll(created);
+            // Only committed rows may be handed out by the dictionary
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        skillDictionary.register(created);
+                    }
+                });
+            } else {
+                skillDictionary.register(created);
+            }
+        }
+        return skills;
+    }
+
     private ProfileDto convertToDto(UserProfile profile) {
         ProfileDto dto = new ProfileDto();
         dto.setId(profile.getId());
@@ -82,7 +180,7 @@ public class ProfileService {
 
         if (profile.getSkills() != null) {
             dto.setSkills(profile.getSkills().stream()
-                    .map(Skill::getName)
+                    .map(skillDictionary::nameOf)
                     .collect(Collectors.toSet()));
         }
 
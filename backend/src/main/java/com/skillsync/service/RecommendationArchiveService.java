@@ -0,0 +1,201 @@
+package com.skillsync.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.skillsync.model.CareerRecommendation;
+import com.skillsync.repository.CareerRecommendationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps career_recommendations small: each user's newest {@code keep-per-user} recommendations stay in
+ * the hot table, older ones are moved to career_recommendation_archive as gzip-compressed JSON.
+ * On PostgreSQL the archive is range-partitioned by creation month, with partitions created as needed.
+ * Runs on a schedule and can be triggered by an admin.
+ */
+@Service
+public class RecommendationArchiveService {
+
+    private static final String ARCHIVE_TABLE = "career_recommendation_archive";
+    private static final String[] CHILD_TABLES = {
+            "recommendation_roles", "recommendation_missing_skills",
+            "recommendation_courses", "recommendation_project_ideas"
+    };
+
+    private final CareerRecommendationRepository recommendationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final int keepPerUser;
+    private final int batchSize;
+
+    private final Counter archivedRows;
+    private final Counter archivedBytes;
+    private final Timer compactionTimer;
+
+    private volatile Boolean postgres;
+    private final Set<YearMonth> knownPartitions = new TreeSet<>();
+
+    public RecommendationArchiveService(CareerRecommendationRepository recommendationRepository,
+                                        JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.recommendation.retention.enabled:true}") boolean enabled,
+                                        @Value("${app.recommendation.retention.keep-per-user:20}") int keepPerUser,
+                                        @Value("${app.recommendation.retention.batch-size:500}") int batchSize) {
+        this.recommendationRepository = recommendationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        // The latest recommendation is always kept; it backs the dashboard and regeneration checks
+        this.keepPerUser = Math.max(1, keepPerUser);
+        this.batchSize = Math.max(1, batchSize);
+
+        this.archivedRows = meterRegistry.counter("skillsync.recommendation.archive.rows");
+        this.archivedBytes = meterRegistry.counter("skillsync.recommendation.archive.bytes");
+        this.compactionTimer = meterRegistry.timer("skillsync.recommendation.compaction");
+    }
+
+    @Scheduled(cron = "${app.recommendation.retention.cron:0 30 3 * * *}")
+    public void scheduledCompaction() {
+        if (enabled) {
+            compact();
+        }
+    }
+
+    /**
+     * Archives every recommendation beyond the retention limit, one batch per transaction,
+     * and returns how many were moved.
+     */
+    public synchronized int compact() {
+        return compactionTimer.record(() -> {
+            ensureArchiveTable();
+            int total = 0;
+            List<Map<String, Object>> expired;
+            while (!(expired = findRowsBeyondRetention()).isEmpty()) {
+                List<Long> ids = new ArrayList<>(expired.size());
+                for (Map<String, Object> row : expired) {
+                    ids.add(((Number) row.get("id")).longValue());
+                    // DDL outside the batch transaction, so a rolled back batch cannot lose a partition
+                    ensurePartition(YearMonth.from(((Timestamp) row.get("created_at")).toLocalDateTime()));
+                }
+                total += transactionTemplate.execute(status -> archive(ids));
+            }
+            if (total > 0) {
+                System.out.println("Archived " + total + " recommendations beyond the newest " + keepPerUser + " per user");
+            }
+            return total;
+        });
+    }
+
+    private List<Map<String, Object>> findRowsBeyondRetention() {
+        return jdbcTemplate.queryForList(
+                "SELECT id, created_at FROM (SELECT id, created_at, ROW_NUMBER() OVER (PARTITION BY user_id " +
+                "ORDER BY created_at DESC, id DESC) AS newest_first FROM career_recommendations) ranked " +
+                "WHERE newest_first > ? ORDER BY id FETCH FIRST ? ROWS ONLY",
+                keepPerUser, batchSize);
+    }
+
+    private int archive(List<Long> ids) {
+        List<CareerRecommendation> rows = recommendationRepository.findAllById(ids);
+        Timestamp archivedAt = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> inserts = new ArrayList<>(rows.size());
+        long bytes = 0;
+        for (CareerRecommendation row : rows) {
+            byte[] payload = compress(row);
+            bytes += payload.length;
+            inserts.add(new Object[]{row.getId(), row.getUser().getId(), Timestamp.valueOf(row.getCreatedAt()),
+                    archivedAt, payload});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO " + ARCHIVE_TABLE +
+                " (id, user_id, created_at, archived_at, payload) VALUES (?, ?, ?, ?, ?)", inserts);
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        for (String table : CHILD_TABLES) {
+            namedJdbcTemplate.update("DELETE FROM " + table + " WHERE recommendation_id IN (:ids)", params);
+        }
+        namedJdbcTemplate.update("DELETE FROM career_recommendations WHERE id IN (:ids)", params);
+
+        archivedRows.increment(rows.size());
+        archivedBytes.increment(bytes);
+        return rows.size();
+    }
+
+    private byte[] compress(CareerRecommendation row) {
+        ArchivedRecommendation archived = new ArchivedRecommendation(row.getRecommendedRoles(), row.getMissingSkills(),
+                row.getRecommendedCourses(), row.getProjectIdeas(), row.getAiInsights(), row.getConfidenceScore(),
+                row.getProfileHash());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(gzip, archived);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private void ensureArchiveTable() {
+        if (isPostgres()) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ARCHIVE_TABLE + " (id BIGINT NOT NULL, " +
+                    "user_id BIGINT NOT NULL, created_at TIMESTAMP(6) NOT NULL, archived_at TIMESTAMP(6) NOT NULL, " +
+                    "payload BYTEA NOT NULL, PRIMARY KEY (id, created_at)) PARTITION BY RANGE (created_at)");
+        } else {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ARCHIVE_TABLE + " (id BIGINT NOT NULL PRIMARY KEY, " +
+                    "user_id BIGINT NOT NULL, created_at TIMESTAMP(6) NOT NULL, archived_at TIMESTAMP(6) NOT NULL, " +
+                    "payload VARBINARY NOT NULL)");
+        }
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_recommendation_archive_user ON " + ARCHIVE_TABLE +
+                " (user_id, created_at)");
+    }
+
+    private void ensurePartition(YearMonth month) {
+        if (!isPostgres() || knownPartitions.contains(month)) {
+            return;
+        }
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s_y%04dm%02d PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                ARCHIVE_TABLE, month.getYear(), month.getMonthValue(), ARCHIVE_TABLE,
+                month.atDay(1), month.plusMonths(1).atDay(1)));
+        knownPartitions.add(month);
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+
+    private record ArchivedRecommendation(List<String> recommendedRoles, List<String> missingSkills,
+                                          List<String> recommendedCourses, List<String> projectIdeas,
+                                          String aiInsights, Double confidenceScore, String profileHash) {}
+}
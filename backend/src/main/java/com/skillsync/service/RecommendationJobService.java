@@ -0,0 +1,131 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.CareerRecommendationDto;
+import com.skillsync.dto.RecommendationJobDto;
+import com.skillsync.exception.ApiException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs recommendation generation as background jobs.
+ * The AI call runs on the reactive WebClient pipeline without holding a request thread
+ * or a database connection; the result is persisted in a short transaction once it arrives.
+ */
+@Service
+public class RecommendationJobService {
+
+    @Autowired
+    private CareerService careerService;
+
+    @Autowired
+    private AIIntegrationService aiIntegrationService;
+
+    @Value("${app.recommendation.jobs.retention-minutes:30}")
+    private long retentionMinutes;
+
+    @Value("${app.recommendation.jobs.max-size:10000}")
+    private int maxJobs;
+
+    private final Map<String, RecommendationJobDto> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a generation job. Unless forced, a user whose profile has not changed since the latest
+     * recommendation gets a job that is already completed with that recommendation.
+     */
+    public RecommendationJobDto submit(Long userId, boolean force) {
+        purgeExpiredJobs();
+        if (jobs.size() >= maxJobs) {
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "Too many recommendation jobs, try again shortly");
+        }
+
+        // Fails fast with 404 before a job is created
+        CareerService.PreparedPrompt prepared = careerService.prepareRecommendationPrompt(userId);
+
+        String jobId = UUID.randomUUID().toString();
+        CareerRecommendationDto unchanged = force ? null : careerService.findUnchangedRecommendation(userId, prepared);
+        if (unchanged != null) {
+            LocalDateTime now = LocalDateTime.now();
+            RecommendationJobDto job = new RecommendationJobDto(jobId, userId, RecommendationJobDto.Status.COMPLETED,
+                    unchanged, null, now, now);
+            jobs.put(jobId, job);
+            return job;
+        }
+
+        RecommendationJobDto job = new RecommendationJobDto(jobId, userId, RecommendationJobDto.Status.PENDING,
+                null, null, LocalDateTime.now(), null);
+        jobs.put(jobId, job);
+
+        aiIntegrationService.generateCareerRecommendationsAsync(prepared.prompt(), force)
+                // JDBC is blocking, so move off the Netty event loop before persisting
+                .publishOn(Schedulers.boundedElastic())
+                .map(aiResponse -> careerService.saveRecommendation(userId, prepared, aiResponse))
+                .subscribe(
+                        recommendation -> jobs.computeIfPresent(jobId,
+                                (id, current) -> current.completed(recommendation)),
+                        error -> jobs.computeIfPresent(jobId, (id, current) -> {
+                            System.err.println("Recommendation job " + id + " failed: " + error.getMessage());
+                            return current.failed(error.getMessage());
+                        })
+                );
+
+        return job;
+    }
+
+    public RecommendationJobDto getJob(Long userId, String jobId) {
+        RecommendationJobDto job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new ApiException(HttpStatus.NOT_FOUND, "Recommendation job not found");
+        }
+        return job;
+    }
+
+    /**
+     * Streams generation as server-sent events: a "token" event per content delta while the model
+     * is writing, then a single "recommendation" event with the persisted result.
+     * Unless forced, an unchanged profile gets only the "recommendation" event with its latest one.
+     */
+    public Flux<ServerSentEvent<Object>> streamRecommendation(Long userId, boolean force) {
+        // Fails fast with 404 before the stream is opened
+        CareerService.PreparedPrompt prepared = careerService.prepareRecommendationPrompt(userId);
+
+        CareerRecommendationDto unchanged = force ? null : careerService.findUnchangedRecommendation(userId, prepared);
+        if (unchanged != null) {
+            return Flux.just(ServerSentEvent.<Object>builder(unchanged).event("recommendation").build());
+        }
+
+        return aiIntegrationService.streamCareerRecommendations(prepared.prompt(), force)
+                .concatMap(event -> {
+                    if (!event.isCompleted()) {
+                        return Mono.just(ServerSentEvent.<Object>builder(event.delta()).event("token").build());
+                    }
+                    return Mono.fromCallable(() -> careerService.saveRecommendation(userId, prepared, event.result()))
+                            // JDBC is blocking, so keep it off the Netty event loop
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .map(recommendation -> ServerSentEvent.<Object>builder(recommendation)
+                                    .event("recommendation")
+                                    .build());
+                });
+    }
+
+    /**
+     * Finished jobs expire a retention period after completing. Pending ones expire the same period after
+     * they were created: generation never legitimately runs that long, so such a job was lost (e.g. its
+     * pipeline was never scheduled) and would otherwise stay in the map forever.
+     */
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> (job.getCompletedAt() != null ? job.getCompletedAt() : job.getCreatedAt())
+                .isBefore(cutoff));
+    }
+}
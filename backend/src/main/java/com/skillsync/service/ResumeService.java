@@ -0,0 +1,197 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.ProfileDto;
+import com.skillsync.exception.ApiException;
+import com.skillsync.util.PdfTextExtractor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns an uploaded resume (PDF or plain text) into a pre-filled profile: skills found by one pass of
+ * the skill dictionary's matcher, years of experience and a likely name. The file is read as a stream
+ * and scanned in chunks, so memory stays bounded whatever its size. Parsing runs on a small pool with
+ * a bounded queue rather than on Tomcat's request threads; when the queue is full uploads get a 503.
+ */
+@Service
+public class ResumeService {
+
+    private static final int CHUNK_CHARS = 16384;
+    // Content streams larger than this are images or fonts in practice
+    private static final int MAX_PDF_STREAM_BYTES = 2 * 1024 * 1024;
+    // All of a PDF's compressed content once inflated; a text resume needs a small fraction of this
+    private static final long MAX_PDF_INFLATED_BYTES = 32L * 1024 * 1024;
+
+    private static final Pattern YEARS_OF_EXPERIENCE = Pattern.compile(
+            "(\\d{1,2})\\+?\\s*(?:years?|yrs?)(?:\\s+of)?\\s+(?:experience|exp)"
+            + "|experience\\s*:?\\s*(\\d{1,2})\\+?\\s*(?:years?|yrs?)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern NAME = Pattern.compile("[\\p{L} .'-]{3,50}");
+
+    private final SkillDictionary skillDictionary;
+    private final ThreadPoolExecutor executor;
+    private final long maxFileBytes;
+    private final Timer parseTimer;
+
+    public ResumeService(SkillDictionary skillDictionary,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.resume.parallelism:2}") int parallelism,
+                         @Value("${app.resume.queue-capacity:16}") int queueCapacity,
+                         @Value("${app.resume.max-file-size-kb:5120}") long maxFileSizeKb) {
+        this.skillDictionary = skillDictionary;
+        int threads = Math.max(1, parallelism);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)));
+        this.maxFileBytes = maxFileSizeKb * 1024;
+        this.parseTimer = meterRegistry.timer("skillsync.resume.parse");
+        meterRegistry.gauge("skillsync.resume.queue", executor, pool -> pool.getQueue().size());
+    }
+
+    /**
+     * Validates the upload and parses it in the background. The multipart file is already spooled
+     * to disk by the container, so only the parsing is moved off the request thread.
+     */
+    public CompletableFuture<ProfileDto> parseResume(Long userId, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "Resume file is empty");
+        }
+        if (file.getSize() > maxFileBytes) {
+            throw new ApiException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Resume must be at most " + (maxFileBytes / 1024) + " KB");
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(() -> parseTimer.record(() -> parse(userId, file)), executor);
+        } catch (RejectedExecutionException e) {
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many resumes are being processed, try again shortly");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ProfileDto parse(Long userId, MultipartFile file) {
+        ResumeScan scan = new ResumeScan(skillDictionary.vocabulary());
+        try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+            in.mark(5);
+            byte[] header = in.readNBytes(5);
+            in.reset();
+
+            if (PdfTextExtractor.isPdf(header)) {
+                PdfTextExtractor.extract(in, MAX_PDF_STREAM_BYTES, MAX_PDF_INFLATED_BYTES, scan::accept);
+            } else if (isPlainText(file)) {
+                readText(in, scan);
+            } else {
+                throw new ApiException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Upload a PDF or plain-text resume");
+            }
+        } catch (PdfTextExtractor.InflatedSizeException e) {
+            throw new ApiException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Resume PDF expands to more than " + (MAX_PDF_INFLATED_BYTES / (1024 * 1024)) + " MB of content");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ProfileDto profile = new ProfileDto();
+        profile.setUserId(userId);
+        profile.setFullName(scan.name);
+        profile.setYearsOfExperience(scan.yearsOfExperience);
+        // Through the dictionary, so aliases and spelling variants land on one skill
+        Set<String> skills = new LinkedHashSet<>();
+        scan.matchedTerms.stream().forEach(term ->
+                skills.add(skillDictionary.canonicalName(scan.vocabulary.terms().get(term))));
+        profile.setSkills(skills);
+        return profile;
+    }
+
+    private static boolean isPlainText(MultipartFile file) {
+        String contentType = file.getContentType();
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        return (contentType != null && contentType.startsWith("text/"))
+                || name.endsWith(".txt") || name.endsWith(".md");
+    }
+
+    private static void readText(InputStream in, ResumeScan scan) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        StringBuilder chunk = new StringBuilder(CHUNK_CHARS + 256);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            chunk.append(line).append('\n');
+            // Chunks end at line breaks, so only a skill split across lines can be missed
+            if (chunk.length() >= CHUNK_CHARS) {
+                scan.accept(chunk.toString());
+                chunk.setLength(0);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            scan.accept(chunk.toString());
+        }
+    }
+
+    /**
+     * What has been found so far; fed one chunk of text at a time.
+     */
+    private static final class ResumeScan {
+
+        private final SkillDictionary.Vocabulary vocabulary;
+        private final BitSet matchedTerms = new BitSet();
+        private String name;
+        private Integer yearsOfExperience;
+        private boolean sawText;
+
+        ResumeScan(SkillDictionary.Vocabulary vocabulary) {
+            this.vocabulary = vocabulary;
+        }
+
+        void accept(String text) {
+            if (!sawText) {
+                // The first non-blank line of a resume is usually the name
+                for (String line : text.split("\n", 20)) {
+                    if (!line.isBlank()) {
+                        sawText = true;
+                        String candidate = line.trim();
+                        if (NAME.matcher(candidate).matches()) {
+                            name = candidate;
+                        }
+                        break;
+                    }
+                }
+            }
+
+            vocabulary.matcher().forEachMatch(text, matchedTerms::set);
+
+            Matcher years = YEARS_OF_EXPERIENCE.matcher(text);
+            while (years.find()) {
+                int value = Integer.parseInt(years.group(1) != null ? years.group(1) : years.group(2));
+                if (yearsOfExperience == null || value > yearsOfExperience) {
+                    yearsOfExperience = value;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.skillsync.service;
+
+import com.skillsync.model.Skill;
+import com.skillsync.repository.SkillRepository;
+import com.skillsync.util.KeywordMatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-process copy of the skills table, so skill names resolve without a query.
+ * Names are matched on a normalized key (case, spacing and punctuation ignored, so "react", "React"
+ * and "React.js" are one skill) and through an alias table ("k8s" is Kubernetes). Each skill also gets
+ * a dense ordinal, usable as a bit index. Loaded at startup and updated as skills are created;
+ * lookups read an immutable snapshot and never block.
+ */
+@Component
+public class SkillDictionary implements ApplicationRunner {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MIN_TEXT_ALIAS_LENGTH = 3;
+    // Aliases that are everyday words in prose ("the rest of the team"): resolved when entered as a
+    // skill, but never matched in free text
+    private static final Set<String> NON_TEXT_ALIASES = Set.of(key("REST"));
+
+    // alias -> canonical name; the canonical name need not exist yet
+    private static final String[][] DEFAULT_ALIASES = {
+            {"ReactJS", "React"},
+            {"Node", "Node.js"},
+            {"JS", "JavaScript"},
+            {"ECMAScript", "JavaScript"},
+            {"TS", "TypeScript"},
+            {"Py", "Python"},
+            {"Python3", "Python"},
+            {"Golang", "Go"},
+            {"Postgres", "PostgreSQL"},
+            {"K8s", "Kubernetes"},
+            {"Amazon Web Services", "AWS"},
+            {"REST", "REST API"},
+            {"RESTful API", "REST API"},
+            {"Spring", "Spring Boot"},
+            {"ML", "Machine Learning"}
+    };
+
+    @Autowired
+    private SkillRepository skillRepository;
+
+    // Extra "alias:Canonical" pairs on top of the defaults
+    @Value("${app.skills.aliases:}")
+    private List<String> configuredAliases;
+
+    private Map<String, String> aliases = Map.of();
+    private List<String> aliasSpellings = List.of();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile CompiledVocabulary compiledVocabulary;
+
+    /**
+     * A skill as the dictionary knows it. The ordinal is stable for the life of the process.
+     */
+    public record Entry(int ordinal, Long id, String name, String category) {}
+
+    /**
+     * Every spelling the dictionary recognizes in free text, compiled into one matcher.
+     * Match indexes refer to {@code terms}; {@link #canonicalName} maps a term to its skill.
+     */
+    public record Vocabulary(List<String> terms, KeywordMatcher matcher) {}
+
+    private record CompiledVocabulary(Snapshot source, Vocabulary vocabulary) {}
+
+    private record Snapshot(Map<String, Entry> byKey, Map<Long, Entry> byId, List<Entry> byOrdinal) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), List.of());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Map<String, String> aliasMap = new HashMap<>();
+        List<String> spellings = new ArrayList<>();
+        for (String[] alias : DEFAULT_ALIASES) {
+            aliasMap.put(key(alias[0]), alias[1]);
+            spellings.add(alias[0]);
+        }
+        for (String pair : configuredAliases) {
+            int separator = pair.indexOf(':');
+            if (separator > 0 && separator < pair.length() - 1) {
+                String alias = clean(pair.substring(0, separator));
+                aliasMap.put(key(alias), clean(pair.substring(separator + 1)));
+                spellings.add(alias);
+            }
+        }
+        aliases = Map.copyOf(aliasMap);
+        aliasSpellings = List.copyOf(spellings);
+        reload();
+    }
+
+    /**
+     * Replaces the dictionary with the current contents of the skills table.
+     */
+    public synchronized void reload() {
+        snapshot = extend(Snapshot.EMPTY, skillRepository.findAll());
+        System.out.println("Skill dictionary loaded with " + size() + " skills");
+    }
+
+    /**
+     * Adds newly stored skills. Call only once they are committed, since lookups hand out their ids.
+     */
+    public synchronized void register(Collection<Skill> skills) {
+        snapshot = extend(snapshot, skills);
+    }
+
+    public void register(Skill skill) {
+        register(List.of(skill));
+    }
+
+    private static Snapshot extend(Snapshot current, Collection<Skill> skills) {
+        Map<String, Entry> byKey = new HashMap<>(current.byKey());
+        Map<Long, Entry> byId = new HashMap<>(current.byId());
+        List<Entry> byOrdinal = new ArrayList<>(current.byOrdinal());
+        for (Skill skill : skills) {
+            if (skill.getId() == null || byId.containsKey(skill.getId())) {
+                continue;
+            }
+            Entry entry = new Entry(byOrdinal.size(), skill.getId(), skill.getName(), skill.getCategory());
+            byOrdinal.add(entry);
+            byId.put(entry.id(), entry);
+            // On legacy duplicates ("react" and "React") the first row stays canonical
+            byKey.putIfAbsent(key(entry.name()), entry);
+        }
+        return new Snapshot(byKey, byId, byOrdinal);
+    }
+
+    /**
+     * The skill the name refers to, directly or through an alias, or null if there is none.
+     */
+    public Entry resolve(String name) {
+        if (name == null) {
+            return null;
+        }
+        Map<String, Entry> byKey = snapshot.byKey();
+        String key = key(name);
+        Entry entry = byKey.get(key);
+        if (entry == null) {
+            String alias = aliases.get(key);
+            entry = alias != null ? byKey.get(key(alias)) : null;
+        }
+        return entry;
+    }
+
+    /**
+     * The name to store and display for the given input: the known skill's name, the alias target,
+     * or the input with its whitespace tidied. Returns null for blank input.
+     */
+    public String canonicalName(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        Entry entry = resolve(name);
+        if (entry != null) {
+            return entry.name();
+        }
+        return aliases.getOrDefault(key(name), clean(name));
+    }
+
+    /**
+     * The canonical name of a stored skill, collapsing legacy duplicates onto one spelling.
+     * Reading only the id means an uninitialized reference is not loaded.
+     */
+    public String nameOf(Skill skill) {
+        Entry entry = snapshot.byId().get(skill.getId());
+        if (entry == null) {
+            return skill.getName().trim();
+        }
+        Entry canonical = snapshot.byKey().get(key(entry.name()));
+        return canonical != null ? canonical.name() : entry.name();
+    }
+
+    /**
+     * Skill names and the aliases of known skills, compiled on first use after each change.
+     * Names outside ASCII are left out, the matcher only handles ASCII.
+     */
+    public Vocabulary vocabulary() {
+        Snapshot current = snapshot;
+        CompiledVocabulary compiled = compiledVocabulary;
+        if (compiled != null && compiled.source() == current) {
+            return compiled.vocabulary();
+        }
+
+        List<String> terms = new ArrayList<>();
+        for (Entry entry : current.byKey().values()) {
+            if (isAscii(entry.name())) {
+                terms.add(entry.name());
+            }
+        }
+        for (String alias : aliasSpellings) {
+            String target = aliases.get(key(alias));
+            // Aliases of skills that do not exist yet, or that shadow a real skill, are not matched;
+            // nor are very short ones or common words, which in free text are mostly false hits
+            // ("js" in "Node.js", "rest" in "the rest of")
+            if (alias.length() >= MIN_TEXT_ALIAS_LENGTH && isAscii(alias) && !NON_TEXT_ALIASES.contains(key(alias))
+                    && current.byKey().containsKey(key(target)) && !current.byKey().containsKey(key(alias))) {
+                terms.add(alias);
+            }
+        }
+        Vocabulary vocabulary = new Vocabulary(List.copyOf(terms), KeywordMatcher.compile(terms));
+        compiledVocabulary = new CompiledVocabulary(current, vocabulary);
+        return vocabulary;
+    }
+
+    public Entry byId(Long id) {
+        return snapshot.byId().get(id);
+    }
+
+    public Entry byOrdinal(int ordinal) {
+        return snapshot.byOrdinal().get(ordinal);
+    }
+
+    public int size() {
+        return snapshot.byOrdinal().size();
+    }
+
+    /**
+     * Lower-cased letters and digits; '+' and '#' are kept so C, C++ and C# stay apart.
+     */
+    public static String key(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            } else if (c == '+' || c == '#') {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean isAscii(String text) {
+        return text.chars().allMatch(c -> c < 128);
+    }
+
+    private static String clean(String name) {
+        return WHITESPACE.matcher(name.trim()).replaceAll(" ");
+    }
+}
@@ -0,0 +1,232 @@
+package com.skillsync.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.skillsync.dto.AIRecommendation;
+import com.skillsync.model.CareerRecommendation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Decodes chat completion responses with the Jackson streaming parser, without building
+ * intermediate trees or maps. The model's content is read straight into an {@link AIRecommendation}.
+ */
+public final class AIResponseParser {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private AIResponseParser() {
+    }
+
+    /**
+     * Returns {@code choices[0].message.content} of a chat completion response.
+     */
+    public static String extractMessageContent(String response) {
+        String content = extractChoiceContent(response, "message");
+        if (content == null) {
+            throw new IllegalStateException("AI response has no message content");
+        }
+        return content;
+    }
+
+    /**
+     * Returns {@code choices[0].delta.content} of a streamed chunk, or an empty string when the chunk has none.
+     */
+    public static String extractDeltaContent(String chunk) {
+        String content = extractChoiceContent(chunk, "delta");
+        return content != null ? content : "";
+    }
+
+    /**
+     * Reads the recommendation object out of the model's content. Tolerates text or code fences around
+     * the object, differently cased keys, objects instead of strings in the lists, and output cut short
+     * (e.g. by the completion limit): whatever was read before the document broke off is kept and the
+     * result is marked {@link AIRecommendation.Source#PARTIAL}. Fails only when nothing usable was found.
+     */
+    public static AIRecommendation parseRecommendation(String content) {
+        int start = content.indexOf('{');
+        if (start < 0) {
+            throw new IllegalStateException("AI response contains no JSON object");
+        }
+
+        List<String> roles = new ArrayList<>();
+        List<String> missingSkills = new ArrayList<>();
+        List<String> courses = new ArrayList<>();
+        List<String> projects = new ArrayList<>();
+        StringBuilder insights = new StringBuilder();
+        boolean complete = true;
+
+        try (JsonParser parser = JSON.createParser(content.substring(start))) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String key = normalizeKey(parser.currentName());
+                parser.nextToken();
+                switch (key) {
+                    case "recommendedroles", "roles" -> readStrings(parser, roles);
+                    case "missingskills", "skillgaps" -> readStrings(parser, missingSkills);
+                    case "recommendedcourses", "courses" -> readStrings(parser, courses);
+                    case "projectideas", "projects" -> readStrings(parser, projects);
+                    case "insights", "careerinsights" -> readText(parser, insights);
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            complete = false;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unparseable AI response: " + e.getMessage(), e);
+        }
+
+        if (roles.isEmpty() && missingSkills.isEmpty() && courses.isEmpty() && projects.isEmpty()
+                && insights.isEmpty()) {
+            throw new IllegalStateException("AI response contains no recommendation fields");
+        }
+        return new AIRecommendation(roles, missingSkills, courses, projects,
+                insights.isEmpty() ? null : truncate(insights.toString(), CareerRecommendation.INSIGHTS_MAX_LENGTH),
+                complete ? AIRecommendation.Source.AI : AIRecommendation.Source.PARTIAL);
+    }
+
+    private static String extractChoiceContent(String json, String container) {
+        try (JsonParser parser = JSON.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("choices".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    return parser.nextToken() == JsonToken.START_OBJECT
+                            ? readChoice(parser, container) : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unparseable AI response: " + e.getMessage(), e);
+        }
+    }
+
+    private static String readChoice(JsonParser parser, String container) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (container.equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("content".equals(name)) {
+                        return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    }
+                    parser.skipChildren();
+                }
+                return null;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    /**
+     * Appends the items of an array (or a lone value) to the target, so a list cut short still keeps
+     * the items read before the break.
+     */
+    private static void readStrings(JsonParser parser, List<String> target) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            addIfPresent(target, readItem(parser));
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == null) {
+                throw new JsonEOFException(parser, null, "Unexpected end of array");
+            }
+            addIfPresent(target, readItem(parser));
+        }
+    }
+
+    private static void readText(JsonParser parser, StringBuilder target) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            appendIfPresent(target, readItem(parser), " ");
+            return;
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == null) {
+                throw new JsonEOFException(parser, null, "Unexpected end of array");
+            }
+            appendIfPresent(target, readItem(parser), " ");
+        }
+    }
+
+    /**
+     * Reads one value as text. Objects (e.g. {"title": ..., "provider": ...}) are flattened to their
+     * scalar values joined with " - "; nested arrays are skipped.
+     */
+    private static String readItem(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null) {
+            throw new JsonEOFException(parser, null, "Unexpected end of input");
+        }
+        if (token.isScalarValue()) {
+            return token == JsonToken.VALUE_NULL ? null : parser.getText();
+        }
+        if (token == JsonToken.START_OBJECT) {
+            StringBuilder text = new StringBuilder();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonToken value = parser.nextToken();
+                if (value != null && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                    appendIfPresent(text, parser.getText(), " - ");
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() == null) {
+                throw new JsonEOFException(parser, null, "Unexpected end of object");
+            }
+            return text.toString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static void addIfPresent(List<String> target, String value) {
+        if (value != null && !value.isBlank()) {
+            target.add(truncate(value.trim(), CareerRecommendation.ITEM_MAX_LENGTH));
+        }
+    }
+
+    /**
+     * Cuts text to what the recommendation columns hold, never between the halves of a surrogate pair.
+     */
+    public static String truncate(String text, int maxLength) {
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        int end = Character.isHighSurrogate(text.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+        return text.substring(0, end);
+    }
+
+    private static void appendIfPresent(StringBuilder target, String value, String separator) {
+        if (value != null && !value.isBlank()) {
+            if (!target.isEmpty()) {
+                target.append(separator);
+            }
+            target.append(value.trim());
+        }
+    }
+
+    // "recommended_roles", "RecommendedRoles" and "recommended roles" all become "recommendedroles"
+    private static String normalizeKey(String key) {
+        StringBuilder normalized = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,148 @@
+package com.skillsync.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader: comma separated, fields optionally quoted, "" inside quotes for a
+ * quote, and quoted fields may span lines. Reads one record at a time, so memory is bounded by the
+ * longest record rather than the file.
+ */
+public final class CsvReader {
+
+    private final Reader reader;
+    private final int maxRecordChars;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int pending = -2; // One character of lookahead; -2 when none is buffered
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader, int maxRecordChars) {
+        this.reader = reader;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /**
+     * The fields of the next record, or null at the end of input. Blank lines are skipped.
+     *
+     * @throws MalformedRecordException when the record is longer than the limit or its quote is never
+     *         closed; the record has been read past, so reading can go on with the next one
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int recordChars = 0;
+        boolean quoted = false;
+        boolean tooLong = false;
+        while (true) {
+            if (tooLong || ++recordChars > maxRecordChars) {
+                // Keep parsing to find where the record ends, but stop keeping its contents
+                tooLong = true;
+                fields.clear();
+                field.setLength(0);
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedRecordException(recordLine, tooLong
+                            ? "Record is longer than " + maxRecordChars + " characters"
+                            : "Unclosed quote");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                if (tooLong) {
+                    throw new MalformedRecordException(recordLine,
+                            "Record is longer than " + maxRecordChars + " characters");
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * The line the last record returned by {@link #next()} started on, counting from 1.
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pending != -2) {
+            c = pending;
+            pending = -2;
+        } else {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            c = buffer[position++];
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    /**
+     * A record that could not be read. It has been skipped; {@link #next()} continues after it.
+     */
+    public static final class MalformedRecordException extends IOException {
+
+        private final long recordLine;
+
+        MalformedRecordException(long recordLine, String message) {
+            super(message);
+            this.recordLine = recordLine;
+        }
+
+        /**
+         * The line the skipped record started on.
+         */
+        public long getRecordLine() {
+            return recordLine;
+        }
+    }
+}
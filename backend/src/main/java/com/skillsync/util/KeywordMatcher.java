@@ -0,0 +1,154 @@
+package com.skillsync.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.function.IntConsumer;
+
+/**
+ * Case-insensitive multi-keyword matcher (Aho-Corasick compiled to a DFA).
+ * Scans the text once, whatever the number of keywords, and only reports whole-word matches:
+ * "java" does not match inside "javascript" and "data" does not match inside "database".
+ * Keywords must be ASCII; immutable and thread-safe once compiled.
+ */
+public final class KeywordMatcher {
+
+    private static final int ALPHABET_BITS = 7;
+    private static final int ALPHABET = 1 << ALPHABET_BITS;
+    private static final int[] NO_OUTPUT = new int[0];
+    private static final int HAS_OUTPUT = Integer.MIN_VALUE;
+
+    // Flattened DFA: the entry for (state, c) is at state + c, and holds the next state already
+    // multiplied by ALPHABET, so the scan loop is a single array load per character. The sign bit
+    // flags states with outputs, so the loop only looks at outputs when something may have matched
+    private final int[] transitions;
+    // Keyword indexes ending at each state, including those reached through failure links
+    private final int[][] outputs;
+    private final int[] keywordLengths;
+
+    private KeywordMatcher(int[] transitions, int[][] outputs, int[] keywordLengths) {
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.keywordLengths = keywordLengths;
+    }
+
+    public static KeywordMatcher compile(List<String> keywords) {
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(newState());
+        ends.add(new ArrayList<>());
+
+        int[] lengths = new int[keywords.size()];
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k).toLowerCase(Locale.ROOT);
+            lengths[k] = keyword.length();
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("Keyword must be ASCII: " + keyword);
+                }
+                if (trie.get(state)[c] < 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newState());
+                    ends.add(new ArrayList<>());
+                }
+                state = trie.get(state)[c];
+            }
+            ends.get(state).add(k);
+        }
+
+        // Breadth-first: fill failure links and turn missing edges into DFA transitions
+        int[][] transitions = trie.toArray(new int[0][]);
+        int[] failure = new int[transitions.length];
+        int[][] outputs = new int[transitions.length][];
+        outputs[0] = NO_OUTPUT;
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = transitions[0][c];
+            if (next < 0) {
+                transitions[0][c] = 0;
+            } else {
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = merge(ends.get(state), outputs[failure[state]]);
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = transitions[state][c];
+                if (next < 0) {
+                    transitions[state][c] = transitions[failure[state]][c];
+                } else {
+                    failure[next] = transitions[failure[state]][c];
+                    queue.add(next);
+                }
+            }
+        }
+
+        int[] flat = new int[transitions.length << ALPHABET_BITS];
+        for (int state = 0; state < transitions.length; state++) {
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = transitions[state][c];
+                flat[(state << ALPHABET_BITS) + c] = (next << ALPHABET_BITS)
+                        | (outputs[next].length > 0 ? HAS_OUTPUT : 0);
+            }
+        }
+        return new KeywordMatcher(flat, outputs, lengths);
+    }
+
+    /**
+     * Calls {@code onMatch} with the index of every whole-word keyword occurrence in the text.
+     */
+    public void forEachMatch(CharSequence text, IntConsumer onMatch) {
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= ALPHABET) {
+                state = 0;
+                continue;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c |= 0x20;
+            }
+            state = transitions[state + c];
+            if (state >= 0) {
+                continue;
+            }
+            state &= ~HAS_OUTPUT;
+            for (int keyword : outputs[state >>> ALPHABET_BITS]) {
+                int start = i - keywordLengths[keyword] + 1;
+                if ((start == 0 || !isWordChar(text.charAt(start - 1)))
+                        && (i + 1 == length || !isWordChar(text.charAt(i + 1)))) {
+                    onMatch.accept(keyword);
+                }
+            }
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private static int[] merge(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        int[] merged = Arrays.copyOf(inherited, inherited.length + own.size());
+        for (int i = 0; i < own.size(); i++) {
+            merged[inherited.length + i] = own.get(i);
+        }
+        return merged;
+    }
+}
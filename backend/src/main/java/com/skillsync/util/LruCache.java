@@ -0,0 +1,139 @@
+package com.skillsync.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.BinaryOperator;
+
+/**
+ * Bounded, thread-safe in-process cache. Entries are evicted least-recently-used once the size limit
+ * is reached and, when a TTL is given, expire after it. Hits, misses, evictions and size are published
+ * as {@code <metricPrefix>.hits|misses|evictions|size}. A non-positive size disables caching.
+ */
+public class LruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    /**
+     * @param ttl how long entries live, or {@code null} to keep them until evicted
+     */
+    public LruCache(int maxSize, Duration ttl, MeterRegistry meterRegistry, String metricPrefix) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl != null ? ttl.toNanos() : Long.MAX_VALUE;
+        this.hits = meterRegistry.counter(metricPrefix + ".hits");
+        this.misses = meterRegistry.counter(metricPrefix + ".misses");
+        this.evictions = meterRegistry.counter(metricPrefix + ".evictions");
+        meterRegistry.gauge(metricPrefix + ".size", this, LruCache::size);
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(key);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        if (maxSize <= 0) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, expiry()));
+        evictOverflow();
+    }
+
+    /**
+     * Stores the value, or the result of {@code resolver(current, value)} when a live entry exists.
+     */
+    public synchronized void merge(K key, V value, BinaryOperator<V> resolver) {
+        if (maxSize <= 0) {
+            return;
+        }
+        Entry<V> current = entries.get(key);
+        V merged = current == null || current.isExpired(System.nanoTime())
+                ? value : resolver.apply(current.value(), value);
+        entries.put(key, new Entry<>(merged, expiry()));
+        evictOverflow();
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all entries and returns how many were dropped.
+     */
+    public synchronized int clear() {
+        int size = entries.size();
+        entries.clear();
+        return size;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return (long) hits.count();
+    }
+
+    public long getMisses() {
+        return (long) misses.count();
+    }
+
+    public long getEvictions() {
+        return (long) evictions.count();
+    }
+
+    private long expiry() {
+        return ttlNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + ttlNanos;
+    }
+
+    private void evictOverflow() {
+        long now = System.nanoTime();
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext() && entries.size() > maxSize) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+        // Drop expired entries at the LRU end while we are here
+        iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().isExpired(now)) {
+                break;
+            }
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return expiresAtNanos != Long.MAX_VALUE && now - expiresAtNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.skillsync.util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Minimal PDF text extraction without a PDF library: finds content streams, inflates Flate-encoded ones
+ * and collects the literal strings shown by the text operators (Tj, TJ, ' and "). Covers the text layer
+ * most generators write for simple Latin fonts; hex-encoded glyph strings (CID fonts) are skipped.
+ * Reads the input once, holding at most one compressed stream in memory. Inflated content is never held:
+ * each stream stops at a fixed inflated size and the document at a caller-given total, and the text buffers
+ * drop input past their caps, so a small, highly compressed upload cannot exhaust the heap.
+ */
+public final class PdfTextExtractor {
+
+    private static final byte[] STREAM = "stream".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END_STREAM = "endstream".getBytes(StandardCharsets.US_ASCII);
+
+    // Bytes before a stream keyword that are kept to inspect its dictionary
+    private static final int DICTIONARY_WINDOW = 1024;
+    private static final int FLUSH_CHARS = 8192;
+    // A content stream inflating past this is cut off there; real page streams stay far below it
+    private static final long MAX_INFLATED_STREAM_BYTES = 8L * 1024 * 1024;
+    // Longest string kept for one text operator, and longest token (operators are at most three letters)
+    private static final int MAX_SHOWN_CHARS = 16384;
+    private static final int MAX_TOKEN_CHARS = 64;
+
+    // Dictionary markers of streams that never hold page text
+    private static final String[] NON_TEXT_MARKERS = {
+            "/Image", "/XRef", "/ObjStm", "/Length1", "/Length2", "/Length3", "/Metadata", "/EmbeddedFile"
+    };
+
+    private PdfTextExtractor() {
+    }
+
+    public static boolean isPdf(byte[] header) {
+        return header.length >= 5 && header[0] == '%' && header[1] == 'P' && header[2] == 'D'
+                && header[3] == 'F' && header[4] == '-';
+    }
+
+    /**
+     * Passes the extracted text to {@code sink} in chunks of a few thousand characters, split at line ends.
+     * Streams longer than {@code maxStreamBytes} are skipped. Throws {@link InflatedSizeException} once the
+     * Flate streams together inflate to more than {@code maxInflatedBytes}.
+     */
+    public static void extract(InputStream in, int maxStreamBytes, long maxInflatedBytes, Consumer<String> sink)
+            throws IOException {
+        long[] inflated = {0};
+        byte[] window = new byte[DICTIONARY_WINDOW];
+        int windowLength = 0;
+        int streamMatch = 0;
+
+        int b;
+        while ((b = in.read()) != -1) {
+            if (windowLength == window.length) {
+                System.arraycopy(window, window.length / 2, window, 0, window.length / 2);
+                windowLength = window.length / 2;
+            }
+            window[windowLength++] = (byte) b;
+
+            streamMatch = b == STREAM[streamMatch] ? streamMatch + 1 : (b == STREAM[0] ? 1 : 0);
+            if (streamMatch < STREAM.length) {
+                continue;
+            }
+            streamMatch = 0;
+
+            // "stream" must be a keyword followed by an end of line, not part of "endstream" or a name
+            int next = in.read();
+            if (next == '\r') {
+                next = in.read();
+            }
+            if (next != '\n' && next != '\r') {
+                continue;
+            }
+
+            String dictionary = dictionaryOf(window, windowLength);
+            windowLength = 0;
+            byte[] body = readStreamBody(in, maxStreamBytes);
+            if (body != null && isTextCandidate(dictionary)) {
+                InputStream content = new ByteArrayInputStream(body);
+                if (dictionary.contains("/FlateDecode")) {
+                    // Buffered for the one-byte lookahead the parser needs
+                    content = new BufferedInputStream(
+                            new InflatedBudget(new InflaterInputStream(content), inflated, maxInflatedBytes));
+                }
+                try {
+                    new ContentParser(sink).parse(content);
+                } catch (InflatedSizeException e) {
+                    throw e;
+                } catch (IOException e) {
+                    // Corrupt or truncated stream: keep whatever the other streams hold
+                }
+            }
+        }
+    }
+
+    private static String dictionaryOf(byte[] window, int length) {
+        String text = new String(window, 0, length, StandardCharsets.ISO_8859_1);
+        int start = text.lastIndexOf(" obj");
+        return start >= 0 ? text.substring(start) : text;
+    }
+
+    private static boolean isTextCandidate(String dictionary) {
+        for (String marker : NON_TEXT_MARKERS) {
+            if (dictionary.contains(marker)) {
+                return false;
+            }
+        }
+        // Only unfiltered and Flate streams can be read; images and other encodings are skipped
+        return !dictionary.contains("/Filter") || (dictionary.contains("/FlateDecode")
+                && !dictionary.contains("/ASCII") && !dictionary.contains("/LZW") && !dictionary.contains("/DCT"));
+    }
+
+    /**
+     * Reads up to "endstream". Returns null when the body was longer than the limit; it is still consumed.
+     */
+    private static byte[] readStreamBody(InputStream in, int maxBytes) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(4096);
+        boolean overflow = false;
+        int match = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == END_STREAM[match]) {
+                match++;
+                if (match == END_STREAM.length) {
+                    break;
+                }
+                continue;
+            }
+            if (match > 0 && !overflow) {
+                body.write(END_STREAM, 0, match);
+            }
+            // "endstream" only repeats its first letter, so a failed match can only restart at 'e'
+            match = b == END_STREAM[0] ? 1 : 0;
+            if (match == 0 && !overflow) {
+                body.write(b);
+            }
+            if (body.size() > maxBytes) {
+                overflow = true;
+                body.reset();
+            }
+        }
+        return overflow ? null : body.toByteArray();
+    }
+
+    /**
+     * Tokenizes one content stream and forwards the strings shown by text operators.
+     */
+    private static final class ContentParser {
+
+        private final Consumer<String> sink;
+        private final StringBuilder text = new StringBuilder();
+        private final StringBuilder shown = new StringBuilder();
+        private final StringBuilder token = new StringBuilder();
+        private boolean inArray;
+
+        ContentParser(Consumer<String> sink) {
+            this.sink = sink;
+        }
+
+        void parse(InputStream in) throws IOException {
+            try {
+                int b;
+                while ((b = in.read()) != -1) {
+                    switch (b) {
+                        case '(' -> {
+                            endToken();
+                            readLiteral(in);
+                        }
+                        case '<' -> {
+                            endToken();
+                            skipHexOrDictionary(in);
+                        }
+                        case '[' -> {
+                            endToken();
+                            inArray = true;
+                        }
+                        case ']' -> {
+                            endToken();
+                            inArray = false;
+                        }
+                        case '%' -> {
+                            endToken();
+                            skipComment(in);
+                        }
+                        case ' ', '\t', '\r', '\n', '\f', 0, '/', '>', '{', '}', ')' -> {
+                            endToken();
+                            if (b == '/') {
+                                token.append('/');
+                            }
+                        }
+                        default -> {
+                            // A token longer than any operator is dropped as it grows
+                            if (token.length() < MAX_TOKEN_CHARS) {
+                                token.append((char) b);
+                            }
+                        }
+                    }
+                }
+                endToken();
+            } finally {
+                flush(true);
+            }
+        }
+
+        private void endToken() {
+            if (token.isEmpty()) {
+                return;
+            }
+            String value = token.toString();
+            token.setLength(0);
+            if (value.charAt(0) == '/') {
+                return;
+            }
+            char first = value.charAt(0);
+            if (first == '-' || first == '.' || Character.isDigit(first)) {
+                // Large negative kerning inside TJ is how most generators draw a space
+                if (inArray && first == '-') {
+                    try {
+                        if (Double.parseDouble(value) < -200) {
+                            show(' ');
+                        }
+                    } catch (NumberFormatException ignored) {
+                        // Not a number after all
+                    }
+                }
+                return;
+            }
+            operator(value);
+        }
+
+        private void operator(String op) {
+            switch (op) {
+                case "Tj", "TJ" -> text.append(shown);
+                case "'", "\"" -> {
+                    newLine();
+                    text.append(shown);
+                }
+                case "Td", "TD", "T*", "Tm", "ET" -> newLine();
+                default -> {
+                    // Other operators carry no text
+                }
+            }
+            shown.setLength(0);
+            if (text.length() >= FLUSH_CHARS) {
+                flush(false);
+            }
+        }
+
+        private void newLine() {
+            if (!text.isEmpty() && text.charAt(text.length() - 1) != '\n') {
+                text.append('\n');
+            }
+        }
+
+        private void flush(boolean all) {
+            int end = all ? text.length() : text.lastIndexOf("\n") + 1;
+            if (end == 0 && text.length() >= FLUSH_CHARS) {
+                // No line end to split at: pass the text on anyway rather than let it grow
+                end = text.length();
+            }
+            if (end > 0) {
+                sink.accept(text.substring(0, end));
+                text.delete(0, end);
+            }
+        }
+
+        /**
+         * Appends the string to {@code shown}; characters past its cap are read and dropped.
+         */
+        private void readLiteral(InputStream in) throws IOException {
+            int depth = 1;
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\\') {
+                    int escaped = in.read();
+                    switch (escaped) {
+                        case 'n' -> show('\n');
+                        case 'r' -> show('\r');
+                        case 't' -> show('\t');
+                        case 'b', 'f', '\r', '\n', -1 -> {
+                            // Backspace, form feed and line continuations show nothing
+                        }
+                        default -> {
+                            if (escaped >= '0' && escaped <= '7') {
+                                show((char) readOctal(in, escaped));
+                            } else {
+                                show((char) escaped);
+                            }
+                        }
+                    }
+                    continue;
+                }
+                if (b == '(') {
+                    depth++;
+                } else if (b == ')' && --depth == 0) {
+                    return;
+                }
+                show((char) b);
+            }
+        }
+
+        private void show(char c) {
+            if (shown.length() < MAX_SHOWN_CHARS) {
+                shown.append(c);
+            }
+        }
+
+        private int readOctal(InputStream in, int first) throws IOException {
+            int value = first - '0';
+            for (int i = 0; i < 2; i++) {
+                in.mark(1);
+                int b = in.read();
+                if (b < '0' || b > '7') {
+                    in.reset();
+                    break;
+                }
+                value = value * 8 + (b - '0');
+            }
+            return value & 0xFF;
+        }
+
+        private void skipHexOrDictionary(InputStream in) throws IOException {
+            in.mark(1);
+            if (in.read() == '<') {
+                // Inline dictionary, its contents are ordinary tokens
+                return;
+            }
+            in.reset();
+            int b;
+            while ((b = in.read()) != -1 && b != '>') {
+                // Hex strings index glyphs, not characters
+            }
+        }
+
+        private void skipComment(InputStream in) throws IOException {
+            int b;
+            while ((b = in.read()) != -1 && b != '\n' && b != '\r') {
+                // Ignored
+            }
+        }
+    }
+
+    /**
+     * Thrown when a document's Flate streams inflate to more than the caller allows.
+     */
+    public static final class InflatedSizeException extends IOException {
+
+        InflatedSizeException(long maxInflatedBytes) {
+            super("PDF content inflates to more than " + maxInflatedBytes + " bytes");
+        }
+    }
+
+    /**
+     * Counts the bytes inflated from one stream: ends the stream at {@link #MAX_INFLATED_STREAM_BYTES} and
+     * adds to the document's total, failing once that passes its limit.
+     */
+    private static final class InflatedBudget extends FilterInputStream {
+
+        private final long[] documentTotal;
+        private final long maxDocumentBytes;
+        private long streamBytes;
+
+        InflatedBudget(InputStream in, long[] documentTotal, long maxDocumentBytes) {
+            super(in);
+            this.documentTotal = documentTotal;
+            this.maxDocumentBytes = maxDocumentBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (streamBytes >= MAX_INFLATED_STREAM_BYTES) {
+                return -1;
+            }
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            long remaining = MAX_INFLATED_STREAM_BYTES - streamBytes;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int bytes) throws InflatedSizeException {
+            streamBytes += bytes;
+            documentTotal[0] += bytes;
+            if (documentTotal[0] > maxDocumentBytes) {
+                throw new InflatedSizeException(maxDocumentBytes);
+            }
+        }
+    }
+}
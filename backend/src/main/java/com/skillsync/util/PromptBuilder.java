@@ -1,38 +1,200 @@
 package com.skillsync.util;
 
+import com.skillsync.model.Skill;
 import com.skillsync.model.UserProfile;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class PromptBuilder {
 
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String ELLIPSIS = "...";
+
+    /**
+     * Static instructions, sent as the system message. Identical for every request,
+     * so it is built once and the per-user message only carries the profile.
+     */
+    public static final String SYSTEM_PROMPT =
+            "You are a career advisor AI. Based on the user profile you are given, provide career recommendations.\n\n" +
+            "Please provide the following in a structured JSON format:\n" +
+            "1. Three recommended job roles that match their profile\n" +
+            "2. Key missing skills they should learn for those roles\n" +
+            "3. Three recommended courses to bridge the skill gap\n" +
+            "4. Two project ideas they can work on to build their portfolio\n" +
+            "5. Brief career insights and advice\n\n" +
+            "Format your response as a JSON object with these keys: recommendedRoles (array), missingSkills (array), " +
+            "recommendedCourses (array), projectIdeas (array), insights (string)";
+
+    public static final int SYSTEM_PROMPT_TOKENS = estimateTokens(SYSTEM_PROMPT);
+
+    public static final int DEFAULT_MAX_PROMPT_TOKENS = 400;
+
+    // Free-text fields are never cut below this, even if the budget is still exceeded
+    private static final int MIN_FIELD_TOKENS = 16;
+
     public static String buildCareerRecommendationPrompt(UserProfile profile) {
-        StringBuilder prompt = new StringBuilder();
+        return buildCareerRecommendationPrompt(profile, DEFAULT_MAX_PROMPT_TOKENS);
+    }
 
-        prompt.append("You are a career advisor AI. Based on the following user profile, provide career recommendations.\n\n");
-        prompt.append("User Profile:\n");
-        prompt.append("- Education Level: ").append(profile.getEducationLevel() != null ? profile.getEducationLevel() : "Not specified").append("\n");
-        prompt.append("- Years of Experience: ").append(profile.getYearsOfExperience() != null ? profile.getYearsOfExperience() : "Not specified").append("\n");
-        prompt.append("- Career Goal: ").append(profile.getCareerGoal() != null ? profile.getCareerGoal() : "Not specified").append("\n");
-        prompt.append("- Interests: ").append(profile.getInterests() != null ? profile.getInterests() : "Not specified").append("\n");
+    public static String buildCareerRecommendationPrompt(UserProfile profile, int maxTokens) {
+        return buildCareerRecommendationPrompt(profile, maxTokens, Skill::getName);
+    }
 
+    /**
+     * Builds the user message for the profile, shortening the free-text goal and interests
+     * (longest first) so the estimated size stays within {@code maxTokens}. Skills are listed under
+     * the names {@code skillName} gives them, once each.
+     */
+    public static String buildCareerRecommendationPrompt(UserProfile profile, int maxTokens,
+                                                         Function<Skill, String> skillName) {
+        String educationLevel = orNotSpecified(profile.getEducationLevel());
+        String experience = profile.getYearsOfExperience() != null
+                ? profile.getYearsOfExperience().toString() : "Not specified";
+        String careerGoal = orNotSpecified(profile.getCareerGoal());
+        String interests = orNotSpecified(profile.getInterests());
+
+        String skills = "None specified";
         if (profile.getSkills() != null && !profile.getSkills().isEmpty()) {
-            String skills = profile.getSkills().stream()
-                    .map(skill -> skill.getName())
+            // Sorted so that equal profiles always produce the same prompt
+            skills = profile.getSkills().stream()
+                    .map(skill -> skillName.apply(skill).trim())
+                    .distinct()
+                    .sorted(String.CASE_INSENSITIVE_ORDER)
                     .collect(Collectors.joining(", "));
-            prompt.append("- Current Skills: ").append(skills).append("\n");
-        } else {
-            prompt.append("- Current Skills: None specified\n");
         }
 
-        prompt.append("\nPlease provide the following in a structured JSON format:\n");
-        prompt.append("1. Three recommended job roles that match their profile\n");
-        prompt.append("2. Key missing skills they should learn for those roles\n");
-        prompt.append("3. Three recommended courses to bridge the skill gap\n");
-        prompt.append("4. Two project ideas they can work on to build their portfolio\n");
-        prompt.append("5. Brief career insights and advice\n\n");
-        prompt.append("Format your response as a JSON object with these keys: recommendedRoles (array), missingSkills (array), recommendedCourses (array), projectIdeas (array), insights (string)");
+        String prompt = render(educationLevel, experience, careerGoal, interests, skills);
+        int excess = estimateTokens(prompt) - maxTokens;
+        if (excess > 0) {
+            boolean interestsFirst = estimateTokens(interests) >= estimateTokens(careerGoal);
+            for (int pass = 0; pass < 2 && excess > 0; pass++) {
+                boolean trimInterests = interestsFirst == (pass == 0);
+                String field = trimInterests ? interests : careerGoal;
+                String shortened = truncateToTokens(field, Math.max(MIN_FIELD_TOKENS, estimateTokens(field) - excess));
+                if (trimInterests) {
+                    interests = shortened;
+                } else {
+                    careerGoal = shortened;
+                }
+                prompt = render(educationLevel, experience, careerGoal, interests, skills);
+                excess = estimateTokens(prompt) - maxTokens;
+            }
+        }
+        return prompt;
+    }
+
+    /**
+     * Local approximation of the model's token count: roughly one token per four characters of a word,
+     * plus one per punctuation character. Close enough for budgeting without a tokenizer.
+     */
+    public static int estimateTokens(CharSequence text) {
+        int tokens = 0;
+        int wordLength = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                wordLength++;
+                continue;
+            }
+            tokens += (wordLength + 3) / 4;
+            wordLength = 0;
+            if (!Character.isWhitespace(c)) {
+                tokens++;
+            }
+        }
+        return tokens + (wordLength + 3) / 4;
+    }
+
+    /**
+     * Stable fingerprint of a prompt, insensitive to case and whitespace differences.
+     * Used as the key for caching AI responses.
+     */
+    public static String fingerprint(String prompt) {
+        return sha256(normalize(prompt));
+    }
 
+    /**
+     * Fingerprint of the profile inputs a prompt is built from, taken before any shortening: two
+     * profiles whose goals or interests differ only past the prompt budget still differ here.
+     * Insensitive to case and whitespace, and to the order and spelling (aliases) of skills.
+     */
+    public static String profileFingerprint(UserProfile profile, Function<Skill, String> skillName) {
+        String skills = "";
+        if (profile.getSkills() != null) {
+            skills = profile.getSkills().stream()
+                    .map(skill -> normalize(skillName.apply(skill)))
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        }
+        // Newlines cannot occur in normalized values, so fields cannot run into each other
+        return sha256(normalize(profile.getEducationLevel()) + "\n"
+                + (profile.getYearsOfExperience() != null ? profile.getYearsOfExperience() : "") + "\n"
+                + normalize(profile.getCareerGoal()) + "\n"
+                + normalize(profile.getInterests()) + "\n"
+                + skills);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String render(String educationLevel, String experience, String careerGoal,
+                                 String interests, String skills) {
+        StringBuilder prompt = new StringBuilder(128 + careerGoal.length() + interests.length() + skills.length());
+        prompt.append("User Profile:\n");
+        prompt.append("- Education Level: ").append(educationLevel).append("\n");
+        prompt.append("- Years of Experience: ").append(experience).append("\n");
+        prompt.append("- Career Goal: ").append(careerGoal).append("\n");
+        prompt.append("- Interests: ").append(interests).append("\n");
+        prompt.append("- Current Skills: ").append(skills).append("\n");
         return prompt.toString();
     }
+
+    /**
+     * Cuts the text at the last word boundary that keeps it within the token budget.
+     */
+    private static String truncateToTokens(String text, int maxTokens) {
+        if (estimateTokens(text) <= maxTokens) {
+            return text;
+        }
+        int budget = Math.max(0, maxTokens - estimateTokens(ELLIPSIS));
+        int tokens = 0;
+        int wordLength = 0;
+        int cut = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                wordLength++;
+                continue;
+            }
+            tokens += (wordLength + 3) / 4 + (Character.isWhitespace(c) ? 0 : 1);
+            wordLength = 0;
+            if (tokens > budget) {
+                break;
+            }
+            cut = i;
+        }
+        return text.substring(0, cut).trim() + ELLIPSIS;
+    }
+
+    private static String orNotSpecified(String value) {
+        return value != null && !value.isBlank() ? value.trim() : "Not specified";
+    }
 }
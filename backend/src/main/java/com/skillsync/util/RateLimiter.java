@@ -0,0 +1,61 @@
+package com.skillsync.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket refilled continuously at a per-minute rate.
+ * The bucket starts full, so up to one minute's budget can be spent in a burst.
+ * A non-positive rate means unlimited.
+ */
+public class RateLimiter {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double available;
+    private long lastRefill;
+
+    public RateLimiter(long permitsPerMinute) {
+        this.capacity = permitsPerMinute;
+        this.refillPerNano = permitsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.available = permitsPerMinute;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Blocks until the permits are available and takes them.
+     * Requests larger than the bucket are clamped to its capacity so they can never wait forever.
+     */
+    public void acquire(long permits) throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryReserve(permits)) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public synchronized long getAvailable() {
+        refill();
+        return (long) available;
+    }
+
+    /**
+     * Takes the permits and returns 0, or returns how long to wait before they could be available.
+     */
+    private synchronized long tryReserve(long permits) {
+        if (capacity <= 0) {
+            return 0;
+        }
+        refill();
+        double needed = Math.min(permits, capacity);
+        if (available >= needed) {
+            available -= needed;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((needed - available) / refillPerNano));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
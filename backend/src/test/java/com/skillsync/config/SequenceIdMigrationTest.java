@@ -0,0 +1,98 @@
+package com.skillsync.config;
+
+import com.skillsync.model.IdGeneration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link SequenceIdMigration} on a real PostgreSQL holding the schema older versions created:
+ * serial and identity id columns, and the nextval defaults one version put on ids and foreign keys.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SequenceIdMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private JdbcTemplate jdbcTemplate;
+    private SequenceIdMigration migration;
+
+    @BeforeEach
+    void createLegacySchema() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword()));
+        jdbcTemplate.execute("DROP SCHEMA public CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA public");
+
+        // Serial ids, as Hibernate created them before pooled sequences
+        jdbcTemplate.execute("CREATE TABLE users (id bigserial PRIMARY KEY, username varchar(50))");
+        jdbcTemplate.execute("CREATE TABLE courses (id bigserial PRIMARY KEY, title varchar(255))");
+        jdbcTemplate.execute("CREATE TABLE project_ideas (id bigserial PRIMARY KEY, title varchar(255))");
+        // Identity ids
+        jdbcTemplate.execute("CREATE TABLE skills (id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "name varchar(255))");
+        // Already on the pooled sequence, but with the defaults an earlier version declared,
+        // copied onto the foreign key as well
+        jdbcTemplate.execute("CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE SEQUENCE user_profiles_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE user_profiles (id bigint DEFAULT nextval('user_profiles_seq') "
+                + "PRIMARY KEY, user_id bigint DEFAULT nextval('users_seq') REFERENCES users (id))");
+        jdbcTemplate.execute("CREATE TABLE career_recommendations (id bigserial PRIMARY KEY, user_id bigint)");
+
+        for (int i = 1; i <= 120; i++) {
+            jdbcTemplate.update("INSERT INTO users (username) VALUES (?)", "user" + i);
+        }
+        jdbcTemplate.update("INSERT INTO skills (name) VALUES ('Java'), ('SQL')");
+        jdbcTemplate.update("INSERT INTO user_profiles (id, user_id) VALUES (1, 1), (2, 2)");
+        jdbcTemplate.update("INSERT INTO courses (title) VALUES ('Java 101')");
+
+        migration = new SequenceIdMigration();
+        ReflectionTestUtils.setField(migration, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    void movesIdsOntoPooledSequencesAndDropsEveryIdDefault() {
+        migration.migrate();
+
+        List<Map<String, Object>> defaults = jdbcTemplate.queryForList(
+                "SELECT table_name, column_name FROM information_schema.columns "
+                + "WHERE table_schema = 'public' AND (column_default IS NOT NULL OR is_identity = 'YES')");
+        assertThat(defaults).isEmpty();
+
+        // The next block of each sequence starts above the ids in use
+        assertThat(nextBlockStart("users_seq")).isEqualTo(121);
+        assertThat(nextBlockStart("skills_seq")).isEqualTo(3);
+        assertThat(nextBlockStart("user_profiles_seq")).isEqualTo(3);
+        // A single row with id 1 is in the way of the very first block, which holds just id 1
+        assertThat(nextBlockStart("courses_seq")).isEqualTo(2);
+        // Empty tables keep their sequence where it was
+        assertThat(jdbcTemplate.queryForObject("SELECT nextval('project_ideas_seq')", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void runsAgainWithoutChangingAnything() {
+        migration.migrate();
+        long usersSeq = jdbcTemplate.queryForObject("SELECT last_value FROM users_seq", Long.class);
+
+        migration.migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT last_value FROM users_seq", Long.class)).isEqualTo(usersSeq);
+        assertThat(nextBlockStart("users_seq")).isEqualTo(121);
+    }
+
+    private long nextBlockStart(String sequence) {
+        long hi = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+        return IdGeneration.blockStart(hi);
+    }
+}
@@ -0,0 +1,156 @@
+package com.skillsync.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each hot endpoint runs, as counted by {@link SqlStatementCounter}
+ * and recorded by {@link SqlStatementCountFilter}. A failure here usually means an N+1 query crept in.
+ * Every authenticated request includes the user lookup done by the JWT filter.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.skillsync=INFO",
+        "logging.level.org.springframework.security=WARN"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlStatementBudgetTest {
+
+    private static final String PROFILE = """
+            {"fullName":"Sam Budget","educationLevel":"BSc","careerGoal":"Backend engineer",
+             "interests":"APIs and databases","yearsOfExperience":2,"skills":["Java","SQL","Docker"]}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+    private long userId;
+
+    @BeforeAll
+    void registerUserWithProfileAndRecommendation() throws Exception {
+        MvcResult registered = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"budget\",\"email\":\"budget@example.com\",\"password\":\"secret1\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode auth = objectMapper.readTree(registered.getResponse().getContentAsString());
+        token = auth.get("token").asText();
+        userId = auth.get("userId").asLong();
+
+        mockMvc.perform(authorized(post("/api/profile/user/" + userId))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PROFILE))
+                .andExpect(status().isOk());
+
+        // No API key is configured, so the job completes with the built-in fallback
+        MvcResult submitted = mockMvc.perform(authorized(post("/api/career/recommendations/" + userId)))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String jobUrl = submitted.getResponse().getHeader(HttpHeaders.LOCATION);
+        for (int attempt = 0; attempt < 100; attempt++) {
+            MvcResult job = mockMvc.perform(authorized(get(jobUrl))).andExpect(status().isOk()).andReturn();
+            String jobStatus = objectMapper.readTree(job.getResponse().getContentAsString()).get("status").asText();
+            if ("COMPLETED".equals(jobStatus)) {
+                return;
+            }
+            assertThat(jobStatus).isEqualTo("PENDING");
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Recommendation job did not complete");
+    }
+
+    @Test
+    void getProfile() throws Exception {
+        // user lookup, profile with its skills
+        assertThat(statements(get("/api/profile/user/" + userId))).isEqualTo(2);
+    }
+
+    @Test
+    void updateProfile() throws Exception {
+        // user lookup, profile with its skills, skill lookup by name, profile update
+        assertThat(statements(post("/api/profile/user/" + userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(PROFILE.replace("APIs and databases", "APIs and messaging")))).isEqualTo(4);
+    }
+
+    @Test
+    void latestRecommendation() throws Exception {
+        // Served from the latest-recommendation cache: only the user lookup
+        assertThat(statements(get("/api/career/recommendations/" + userId + "/latest"))).isEqualTo(1);
+    }
+
+    @Test
+    void recommendationHistory() throws Exception {
+        // user lookup, one page of summaries
+        assertThat(statements(get("/api/career/recommendations/" + userId + "/history"))).isEqualTo(2);
+    }
+
+    @Test
+    void courseList() throws Exception {
+        // Written from the catalog snapshot: only the user lookup
+        assertThat(statements(get("/api/courses"))).isEqualTo(1);
+    }
+
+    @Test
+    void courseSearch() throws Exception {
+        // user lookup, one page of courses (no count query when the page is not full)
+        assertThat(statements(get("/api/courses/search").param("category", "Programming"))).isEqualTo(2);
+    }
+
+    @Test
+    void courseTextSearch() throws Exception {
+        // Answered by the in-memory search index: only the user lookup
+        assertThat(statements(get("/api/courses/search/text").param("q", "python"))).isEqualTo(1);
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    /**
+     * Runs the request and returns the statements the filter counted for it.
+     */
+    private int statements(MockHttpServletRequestBuilder request) throws Exception {
+        double[] before = recorded();
+        mockMvc.perform(authorized(request)).andExpect(status().is2xxSuccessful());
+        double[] after = recorded();
+        assertThat(after[0] - before[0]).as("requests recorded").isEqualTo(1);
+        return (int) (after[1] - before[1]);
+    }
+
+    /** Requests and statements recorded so far, over all endpoints. */
+    private double[] recorded() {
+        double requests = 0;
+        double statements = 0;
+        for (DistributionSummary summary : meterRegistry.find("skillsync.http.sql.statements").summaries()) {
+            requests += summary.count();
+            statements += summary.totalAmount();
+        }
+        return new double[] {requests, statements};
+    }
+}
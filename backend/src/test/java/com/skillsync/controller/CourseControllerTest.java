@@ -0,0 +1,50 @@
+package com.skillsync.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseControllerTest {
+
+    @Test
+    void acceptsGzipListedWithAPositiveQuality() {
+        assertThat(CourseController.acceptsGzip("gzip")).isTrue();
+        assertThat(CourseController.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(CourseController.acceptsGzip("br;q=1.0, gzip;q=0.5")).isTrue();
+        assertThat(CourseController.acceptsGzip("identity, x-gzip")).isTrue();
+        assertThat(CourseController.acceptsGzip("gzip ; Q=0.001")).isTrue();
+    }
+
+    @Test
+    void refusesGzipWithQualityZero() {
+        assertThat(CourseController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CourseController.acceptsGzip("identity, x-gzip;q=0")).isFalse();
+        assertThat(CourseController.acceptsGzip("gzip;q=0.000, *")).isFalse();
+        assertThat(CourseController.acceptsGzip("gzip;q=high")).isFalse();
+    }
+
+    @Test
+    void fallsBackToTheWildcardWhenGzipIsNotListed() {
+        assertThat(CourseController.acceptsGzip("*")).isTrue();
+        assertThat(CourseController.acceptsGzip("br, *;q=0")).isFalse();
+        assertThat(CourseController.acceptsGzip("identity")).isFalse();
+        // A coding that merely contains "gzip" is not gzip
+        assertThat(CourseController.acceptsGzip("gzip-legacy")).isFalse();
+        assertThat(CourseController.acceptsGzip("")).isFalse();
+        assertThat(CourseController.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    void readsCodingsWhateverTheDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        try {
+            // Turkish lower-cases 'I' to a dotless 'ı', which would turn "GZIP" into an unknown coding
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertThat(CourseController.acceptsGzip("GZIP")).isTrue();
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.skillsync.service;
+
+import com.skillsync.config.AIUpstreamHealthIndicator;
+import com.skillsync.dto.AIRecommendation;
+import com.skillsync.util.CircuitBreaker;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the guarded OpenAI call against a local stub server that stalls, then fails, then recovers.
+ */
+class AIIntegrationServiceTest {
+
+    private static final String COMPLETION = """
+            {"choices":[{"message":{"role":"assistant","content":"{\\"recommendedRoles\\":[\\"Backend Developer\\"],\
+            \\"missingSkills\\":[\\"Kubernetes\\"],\\"recommendedCourses\\":[],\\"projectIdeas\\":[],\
+            \\"insights\\":\\"Keep going\\"}"}}]}""";
+
+    private enum Mode { STALL, FAIL, OK }
+
+    private final AtomicReference<Mode> mode = new AtomicReference<>(Mode.OK);
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private HttpServer server;
+    private MeterRegistry meterRegistry;
+    private AIIntegrationService service;
+    private AIUpstreamHealthIndicator healthIndicator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        // 1s deadline; opens after 2 calls at 50% failures; one probe after 1s open
+        service = new AIIntegrationService(WebClient.builder(),
+                new AIResponseCache(meterRegistry, 100, 60), new FallbackRecommender(), meterRegistry,
+                1, 2, 4, 2, 50, 1, 1);
+        ReflectionTestUtils.setField(service, "openaiApiKey", "test-key");
+        ReflectionTestUtils.setField(service, "openaiApiUrl",
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/chat/completions");
+        ReflectionTestUtils.setField(service, "model", "gpt-test");
+        ReflectionTestUtils.setField(service, "maxCompletionTokens", 1000);
+        ReflectionTestUtils.setField(service, "contextWindowTokens", 4096);
+
+        healthIndicator = new AIUpstreamHealthIndicator();
+        ReflectionTestUtils.setField(healthIndicator, "aiIntegrationService", service);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void stallThenFailureOpensTheCircuitAndAProbeClosesIt() throws InterruptedException {
+        // A stalled upstream is cut off at the deadline and answered by the fallback
+        mode.set(Mode.STALL);
+        long started = System.nanoTime();
+        AIRecommendation stalled = service.generateCareerRecommendations("stall: java spring", true);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        assertThat(stalled.source()).isEqualTo(AIRecommendation.Source.FALLBACK);
+        assertThat(elapsedMillis).isBetween(900L, 2500L);
+        assertThat(meterRegistry.counter("skillsync.ai.upstream.timeouts").count()).isEqualTo(1);
+        assertThat(service.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // A second failure reaches the minimum calls at 100% failures and opens the circuit
+        mode.set(Mode.FAIL);
+        AIRecommendation failed = service.generateCareerRecommendations("fail: java spring", true);
+        assertThat(failed.source()).isEqualTo(AIRecommendation.Source.FALLBACK);
+        assertThat(service.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        Health open = healthIndicator.health();
+        assertThat(open.getStatus()).isEqualTo(Status.UP);
+        assertThat(open.getDetails()).containsEntry("circuitState", "OPEN").containsEntry("failureRate", 1.0);
+
+        // While open, calls are rejected without reaching the upstream, even though it has recovered
+        mode.set(Mode.OK);
+        int hitsWhileOpen = hits.get();
+        AIRecommendation rejected = service.generateCareerRecommendations("open: java spring", true);
+        assertThat(rejected.source()).isEqualTo(AIRecommendation.Source.FALLBACK);
+        assertThat(rejected.recommendedRoles()).contains("Backend Developer");
+        assertThat(hits.get()).isEqualTo(hitsWhileOpen);
+        assertThat(meterRegistry.counter("skillsync.ai.upstream.rejected", "reason", "circuit_open").count())
+                .isEqualTo(1);
+
+        // After the open duration one probe goes through; its success closes the circuit
+        Thread.sleep(1100);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("circuitState", "HALF_OPEN");
+        AIRecommendation probed = service.generateCareerRecommendations("probe: java spring", true);
+        assertThat(probed.source()).isEqualTo(AIRecommendation.Source.AI);
+        assertThat(probed.missingSkills()).containsExactly("Kubernetes");
+        assertThat(hits.get()).isEqualTo(hitsWhileOpen + 1);
+
+        // The bulkhead permit is returned in doFinally, which may run just after the caller has the answer
+        long deadline = System.nanoTime() + 1_000_000_000L;
+        while (service.getAvailableBulkheadPermits() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Health closed = healthIndicator.health();
+        assertThat(closed.getDetails())
+                .containsEntry("circuitState", "CLOSED")
+                .containsEntry("failureRate", 0.0)
+                .containsEntry("bulkheadAvailable", 2)
+                .containsEntry("bulkheadMax", 2);
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() throws InterruptedException {
+        mode.set(Mode.FAIL);
+        service.generateCareerRecommendations("first: java", true);
+        service.generateCareerRecommendations("second: java", true);
+        assertThat(service.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        Thread.sleep(1100);
+        int hitsBeforeProbe = hits.get();
+        AIRecommendation probed = service.generateCareerRecommendations("probe: java", true);
+        assertThat(probed.source()).isEqualTo(AIRecommendation.Source.FALLBACK);
+        assertThat(hits.get()).isEqualTo(hitsBeforeProbe + 1);
+        assertThat(service.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void permitIsTakenOnlyForRealUpstreamCalls() throws InterruptedException {
+        AtomicInteger permits = new AtomicInteger();
+        AIRecommendation first = service.generateCareerRecommendations("permit: java", false, permits::incrementAndGet);
+        AIRecommendation cached = service.generateCareerRecommendations("permit: java", false, permits::incrementAndGet);
+        assertThat(first.source()).isEqualTo(AIRecommendation.Source.AI);
+        assertThat(cached).isSameAs(first);
+        assertThat(permits.get()).isEqualTo(1);
+        assertThat(hits.get()).isEqualTo(1);
+
+        // Without an API key the mock answers and nothing is spent
+        ReflectionTestUtils.setField(service, "openaiApiKey", "");
+        AIRecommendation mock = service.generateCareerRecommendations("permit: java", true, permits::incrementAndGet);
+        assertThat(mock.source()).isEqualTo(AIRecommendation.Source.FALLBACK);
+        assertThat(permits.get()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentSubscribersShareOneUpstreamCall() {
+        Mono<AIRecommendation> first = service.generateCareerRecommendationsAsync("shared: java", true);
+        Mono<AIRecommendation> second = service.generateCareerRecommendationsAsync("shared: java", true);
+
+        AIRecommendation[] answers = Mono.zip(first, second, (a, b) -> new AIRecommendation[] {a, b}).block();
+        assertThat(answers[1]).isSameAs(answers[0]);
+        assertThat(hits.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("skillsync.ai.requests.coalesced").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("skillsync.ai.upstream.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void aCallThatIsNeverSubscribedLeavesNothingInFlight() {
+        // Assembled by a caller that gave up before subscribing
+        service.generateCareerRecommendationsAsync("abandoned: java", true);
+        assertThat(meterRegistry.get("skillsync.ai.upstream.in_flight").gauge().value()).isZero();
+        assertThat(hits.get()).isZero();
+
+        AIRecommendation answered = service.generateCareerRecommendations("abandoned: java", true);
+        assertThat(answered.source()).isEqualTo(AIRecommendation.Source.AI);
+        assertThat(hits.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("skillsync.ai.requests.coalesced").counter().count()).isZero();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            switch (mode.get()) {
+                case STALL -> {
+                    try {
+                        Thread.sleep(3000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    respond(exchange, 200, COMPLETION);
+                }
+                case FAIL -> respond(exchange, 500, "{\"error\":{\"message\":\"upstream failure\"}}");
+                case OK -> respond(exchange, 200, COMPLETION);
+            }
+        } catch (IOException e) {
+            // The client gave up on a stalled call
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.AIRecommendation;
+import com.skillsync.dto.BatchRecommendationRequest;
+import com.skillsync.dto.BatchRecommendationStatusDto;
+import com.skillsync.dto.BatchRecommendationStatusDto.UserOutcome;
+import com.skillsync.dto.CareerRecommendationDto;
+import com.skillsync.exception.ApiException;
+import com.skillsync.repository.UserProfileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchRecommendationServiceTest {
+
+    private final CareerService careerService = mock(CareerService.class);
+    private final AIIntegrationService aiIntegrationService = mock(AIIntegrationService.class);
+    private BatchRecommendationService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void countsStandInAnswersApartFromAiOnes() throws Exception {
+        service = service(10);
+        prompt(1L);
+        prompt(2L);
+        prompt(3L);
+        prompt(4L);
+        answer(1L, AIRecommendation.Source.AI);
+        answer(2L, AIRecommendation.Source.FALLBACK);
+        answer(3L, AIRecommendation.Source.PARTIAL);
+        when(careerService.prepareRecommendationPrompt(5L)).thenThrow(
+                new ApiException(HttpStatus.NOT_FOUND, "User not found"));
+        when(careerService.saveRecommendation(anyLong(), any(), any())).thenAnswer(invocation ->
+                recommendation(invocation.getArgument(0)));
+        when(careerService.findUnchangedRecommendation(eq(4L), any())).thenReturn(recommendation(4L));
+
+        BatchRecommendationStatusDto status = awaitCompletion(
+                service.submit(new BatchRecommendationRequest(List.of(1L, 2L, 3L, 4L, 5L), null, false)));
+
+        assertThat(status.getTotal()).isEqualTo(5);
+        assertThat(status.getSucceeded()).isEqualTo(2);
+        assertThat(status.getFallback()).isEqualTo(2);
+        assertThat(status.getFailed()).isEqualTo(1);
+        assertThat(status.getResults())
+                .extracting(UserOutcome::getUserId, UserOutcome::isSuccess, UserOutcome::getSource)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, true, AIRecommendation.Source.AI),
+                        tuple(2L, true, AIRecommendation.Source.FALLBACK),
+                        tuple(3L, true, AIRecommendation.Source.PARTIAL),
+                        // Kept its latest recommendation, no new answer
+                        tuple(4L, true, null),
+                        tuple(5L, false, null));
+    }
+
+    @Test
+    void evictsTheOldestFinishedBatchesBeyondTheMaximum() {
+        service = service(2);
+
+        String first = service.submit(new BatchRecommendationRequest(List.of(), null, false)).getBatchId();
+        String second = service.submit(new BatchRecommendationRequest(List.of(), null, false)).getBatchId();
+        String third = service.submit(new BatchRecommendationRequest(List.of(), null, false)).getBatchId();
+
+        assertThatThrownBy(() -> service.getStatus(first))
+                .isInstanceOfSatisfying(ApiException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThat(service.getStatus(second).getStatus()).isEqualTo(BatchRecommendationStatusDto.Status.COMPLETED);
+        assertThat(service.getStatus(third).getStatus()).isEqualTo(BatchRecommendationStatusDto.Status.COMPLETED);
+    }
+
+    @Test
+    void refusesNewBatchesWhileTheMaximumAreRunning() throws Exception {
+        service = service(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(careerService.prepareRecommendationPrompt(1L)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            throw new ApiException(HttpStatus.NOT_FOUND, "User not found");
+        });
+
+        BatchRecommendationStatusDto running =
+                service.submit(new BatchRecommendationRequest(List.of(1L), null, false));
+        try {
+            assertThatThrownBy(() -> service.submit(new BatchRecommendationRequest(List.of(), null, false)))
+                    .isInstanceOfSatisfying(ApiException.class,
+                            e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        } finally {
+            release.countDown();
+        }
+        awaitCompletion(running);
+
+        // Once it has finished, it is the one evicted to make room
+        service.submit(new BatchRecommendationRequest(List.of(), null, false));
+        assertThatThrownBy(() -> service.getStatus(running.getBatchId())).isInstanceOf(ApiException.class);
+    }
+
+    private BatchRecommendationService service(int maxBatches) {
+        return new BatchRecommendationService(careerService, aiIntegrationService, mock(UserProfileRepository.class),
+                2, 60, 60_000, 30, maxBatches);
+    }
+
+    private void prompt(Long userId) {
+        when(careerService.prepareRecommendationPrompt(userId)).thenReturn(
+                new CareerService.PreparedPrompt("prompt " + userId, "hash " + userId));
+    }
+
+    private void answer(Long userId, AIRecommendation.Source source) throws InterruptedException {
+        when(aiIntegrationService.generateCareerRecommendations(eq("prompt " + userId), anyBoolean(), any()))
+                .thenReturn(new AIRecommendation(List.of("Backend Developer"), List.of(), List.of(), List.of(),
+                        "Keep going", source));
+    }
+
+    private static CareerRecommendationDto recommendation(Long userId) {
+        CareerRecommendationDto recommendation = new CareerRecommendationDto();
+        recommendation.setId(100 + userId);
+        recommendation.setUserId(userId);
+        return recommendation;
+    }
+
+    private BatchRecommendationStatusDto awaitCompletion(BatchRecommendationStatusDto batch) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        BatchRecommendationStatusDto status = service.getStatus(batch.getBatchId());
+        while (status.getStatus() != BatchRecommendationStatusDto.Status.COMPLETED && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = service.getStatus(batch.getBatchId());
+        }
+        assertThat(status.getStatus()).isEqualTo(BatchRecommendationStatusDto.Status.COMPLETED);
+        return status;
+    }
+}
@@ -0,0 +1,191 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.CourseImportResultDto;
+import com.skillsync.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Imports into the H2 database the application runs on in development. Every test uses its own URLs,
+ * under a category no other test searches.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.course-import.batch-size=3"
+})
+class CourseImportServiceTest {
+
+    private static final String HEADER =
+            "title,description,provider,course_url,difficulty_level,category,rating,is_free\n";
+
+    @Autowired
+    private CourseImportService courseImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Test
+    void insertsNewUrlsAndUpdatesExistingOnes() {
+        CourseImportResultDto first = importCsv(HEADER
+                + "Old title,Desc,Udemy,https://import.test/mix/a,Beginner,Import Test,4.5,true\n"
+                + "B,Desc,Udemy,https://import.test/mix/b,beginner,Import Test,,\n");
+        assertThat(first.getInserted()).isEqualTo(2);
+        assertThat(first.getUpdated()).isZero();
+
+        CourseImportResultDto second = importCsv(HEADER
+                + "New title,Desc,Coursera,https://import.test/mix/a,Advanced,Import Test,3.0,false\n"
+                + "C,Desc,Udemy,https://import.test/mix/c,,Import Test,,\n");
+
+        assertThat(second.getRows()).isEqualTo(2);
+        assertThat(second.getInserted()).isEqualTo(1);
+        assertThat(second.getUpdated()).isEqualTo(1);
+        assertThat(second.getFailed()).isZero();
+        assertThat(jdbcTemplate.queryForMap("SELECT title, provider, difficulty_level, is_free FROM courses "
+                + "WHERE course_url = ?", "https://import.test/mix/a"))
+                .containsEntry("TITLE", "New title")
+                .containsEntry("PROVIDER", "Coursera")
+                .containsEntry("DIFFICULTY_LEVEL", "Advanced")
+                .containsEntry("IS_FREE", false);
+        // Levels are normalized to their canonical spelling
+        assertThat(jdbcTemplate.queryForObject("SELECT difficulty_level FROM courses WHERE course_url = ?",
+                String.class, "https://import.test/mix/b")).isEqualTo("Beginner");
+        // The search index is rebuilt once the import has stored something
+        assertThat(courseSearchIndex.search("new title", "Import Test", null, 0, 10).items())
+                .anySatisfy(course -> assertThat(course.getCourseUrl()).isEqualTo("https://import.test/mix/a"));
+    }
+
+    @Test
+    void laterRowWinsWhenAUrlRepeatsWithinABatch() {
+        CourseImportResultDto result = importCsv(HEADER
+                + "First,Desc,Udemy,https://import.test/dup/a,,Import Test,,\n"
+                + "Second,Desc,Udemy,https://import.test/dup/a,,Import Test,,\n");
+
+        assertThat(result.getRows()).isEqualTo(2);
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT title FROM courses WHERE course_url = ?", String.class,
+                "https://import.test/dup/a")).containsExactly("Second");
+    }
+
+    @Test
+    void reportsInvalidCsvRowsByLine() {
+        CourseImportResultDto result = importCsv(HEADER
+                + "Valid,Desc,Udemy,https://import.test/rows/a,,Import Test,,\n"            // line 2
+                + ",Desc,Udemy,https://import.test/rows/b,,Import Test,,\n"                 // line 3
+                + "Multi,\"spans\ntwo lines\",Udemy,https://import.test/rows/c,,Import Test,,\n" // lines 4-5
+                + "Rated,Desc,Udemy,https://import.test/rows/d,,Import Test,abc,\n"         // line 6
+                + "Ftp,Desc,Udemy,ftp://import.test/rows/e,,Import Test,,\n"                // line 7
+                + "Expert,Desc,Udemy,https://import.test/rows/f,Expert,Import Test,,\n"     // line 8
+                + "Unclosed,\"Desc,Udemy,https://import.test/rows/g,,Import Test,,\n");     // line 9 to the end
+
+        assertThat(result.getRows()).isEqualTo(7);
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(5);
+        assertThat(result.getErrors()).extracting(CourseImportResultDto.RowError::getLine,
+                        CourseImportResultDto.RowError::getMessage)
+                .containsExactly(
+                        tuple(3L, "title is required"),
+                        tuple(6L, "rating is not a number"),
+                        tuple(7L, "course_url must be an http(s) URL"),
+                        tuple(8L, "difficulty_level must be Beginner, Intermediate or Advanced"),
+                        tuple(9L, "Unclosed quote"));
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM courses WHERE course_url = ?",
+                String.class, "https://import.test/rows/c")).isEqualTo("spans\ntwo lines");
+    }
+
+    @Test
+    void reportsNdjsonLinesThatAreNotJson() {
+        String ndjson = """
+                {"title":"Json A","courseUrl":"https://import.test/ndjson/a","category":"Import Test"}
+                not json at all
+
+                {"title":"Json B","courseUrl":"https://import.test/ndjson/b","category":"Import Test","rating":4.1}
+                {"title":"No URL","category":"Import Test"}
+                """;
+        CourseImportResultDto result = courseImportService.importCourses(stream(ndjson),
+                CourseImportService.Format.NDJSON);
+
+        assertThat(result.getRows()).isEqualTo(4);
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(CourseImportResultDto.RowError::getLine).containsExactly(2L, 5L);
+        assertThat(result.getErrors().get(0).getMessage()).startsWith("Invalid JSON");
+        assertThat(result.getErrors().get(1).getMessage()).isEqualTo("course_url is required");
+    }
+
+    @Test
+    void refusesASecondImportWhileOneIsRunning() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Holds the first import inside its read until released
+        InputStream stalled = new InputStream() {
+            @Override
+            public int read() {
+                reading.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return -1;
+            }
+        };
+        CompletableFuture<CourseImportResultDto> first = CompletableFuture.supplyAsync(() ->
+                courseImportService.importCourses(stalled, CourseImportService.Format.NDJSON));
+        try {
+            assertThat(reading.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> importCsv(HEADER + "T,D,P,https://import.test/busy/a,,Import Test,,\n"))
+                    .isInstanceOfSatisfying(ApiException.class,
+                            e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.CONFLICT));
+        } finally {
+            release.countDown();
+        }
+        assertThat(first.get(10, TimeUnit.SECONDS).getRows()).isZero();
+
+        // Once the first has finished, imports are accepted again
+        assertThat(importCsv(HEADER + "T,D,P,https://import.test/busy/a,,Import Test,,\n").getInserted())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void storesRowsInBatches() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 10; i++) {
+            csv.append("Batch ").append(i).append(",Desc,Udemy,https://import.test/batch/").append(i)
+                    .append(",,Import Test,,\n");
+        }
+        CourseImportResultDto result = importCsv(csv.toString());
+
+        // Four batches of at most 3, each drawing its ids from the shared allocator
+        assertThat(result.getInserted()).isEqualTo(10);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM courses WHERE course_url LIKE "
+                + "'https://import.test/batch/%' ORDER BY id", Long.class);
+        assertThat(ids).hasSize(10).doesNotHaveDuplicates();
+    }
+
+    private CourseImportResultDto importCsv(String csv) {
+        return courseImportService.importCourses(stream(csv), CourseImportService.Format.CSV);
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,161 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.CourseDto;
+import com.skillsync.dto.CourseMatchDto;
+import com.skillsync.model.Skill;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CourseMatcherTest {
+
+    private CourseCatalog courseCatalog;
+    private SkillDictionary skillDictionary;
+    private CourseMatcher courseMatcher;
+    private long nextSkillId = 1;
+
+    @BeforeEach
+    void setUp() {
+        courseCatalog = mock(CourseCatalog.class);
+        skillDictionary = new SkillDictionary();
+        register("Java", "Spring Boot", "Docker", "Python");
+        catalog(course(1, "Java and Spring Boot", "Build web services", "Beginner", 4.0, false),
+                course(2, "Docker for Java developers", "Containers in practice", "Beginner", 4.0, false),
+                course(3, "Python data analysis", "Notebooks and charts", "Beginner", 4.0, false));
+        courseMatcher = new CourseMatcher(courseCatalog, skillDictionary, new SimpleMeterRegistry(), 100);
+    }
+
+    @Test
+    void tagsCoursesWithTheSkillsTheirTextMentions() {
+        assertThat(ids(courseMatcher.match(List.of("java"), null, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(courseMatcher.match(List.of("Docker"), null, 10))
+                .singleElement()
+                .satisfies(match -> {
+                    assertThat(match.getCourse().getId()).isEqualTo(2L);
+                    assertThat(match.getMatchedSkills()).containsExactly("Docker");
+                });
+        // Skills the dictionary does not know cannot be matched
+        assertThat(courseMatcher.match(List.of("Haskell"), null, 10)).isEmpty();
+    }
+
+    @Test
+    void ranksByShareOfTheGapCovered() {
+        List<CourseMatchDto> matches = courseMatcher.match(List.of("Java", "Docker", "Spring Boot", "Python"),
+                null, 10);
+
+        // Course 1 and 2 each cover two of the four skills, course 3 one
+        assertThat(ids(matches)).containsExactly(1L, 2L, 3L);
+        assertThat(matches.get(0).getMatchedSkills()).containsExactly("Java", "Spring Boot");
+        assertThat(matches.get(0).getCoverage()).isEqualTo(0.5);
+        assertThat(matches.get(2).getCoverage()).isEqualTo(0.25);
+        // 0.6 coverage + 0.2 rating + 0.15 difficulty fit, not free
+        assertThat(matches.get(0).getScore()).isCloseTo(0.6 * 0.5 + 0.2 * 0.8 + 0.15, within(1e-9));
+    }
+
+    @Test
+    void keepsTheBestCoursesInScoreOrder() {
+        catalog(course(1, "Java basics", null, "Beginner", 3.0, false),
+                course(2, "Java in depth", null, "Beginner", 5.0, false),
+                course(3, "Java for free", null, "Beginner", 3.0, true),
+                course(4, "Java and Docker", null, "Beginner", 3.0, false));
+
+        // Full coverage first, then rating, then price
+        assertThat(ids(courseMatcher.match(List.of("Java", "Docker"), null, 3))).containsExactly(4L, 2L, 3L);
+        assertThat(ids(courseMatcher.match(List.of("Java", "Docker"), null, 1))).containsExactly(4L);
+    }
+
+    @Test
+    void breaksTiesByCourseId() {
+        catalog(course(9, "Java", null, "Beginner", 4.0, false),
+                course(4, "Java", null, "Beginner", 4.0, false),
+                course(7, "Java", null, "Beginner", 4.0, false));
+
+        assertThat(ids(courseMatcher.match(List.of("Java"), null, 10))).containsExactly(4L, 7L, 9L);
+        assertThat(ids(courseMatcher.match(List.of("Java"), null, 2))).containsExactly(4L, 7L);
+    }
+
+    @Test
+    void prefersTheRequestedLevelWhateverTheDefaultLocale() {
+        catalog(course(1, "Java", null, "Beginner", 4.0, false),
+                course(2, "Java", null, "Intermediate", 4.0, false),
+                course(3, "Java", null, "Advanced", 4.0, false));
+
+        Locale previous = Locale.getDefault();
+        try {
+            // Turkish lower-cases 'I' to a dotless 'ı', which would make "INTERMEDIATE" an unknown level
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertThat(ids(courseMatcher.match(List.of("Java"), "INTERMEDIATE", 10))).containsExactly(2L, 1L, 3L);
+        } finally {
+            Locale.setDefault(previous);
+        }
+        assertThat(ids(courseMatcher.match(List.of("Java"), "advanced", 10))).containsExactly(3L, 2L, 1L);
+        // Beginner when not given
+        assertThat(ids(courseMatcher.match(List.of("Java"), null, 10))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void servesRepeatedGapsFromTheCacheUntilTheCatalogChanges() {
+        List<CourseMatchDto> first = courseMatcher.match(List.of("Docker"), null, 10);
+        assertThat(courseMatcher.match(List.of("docker"), null, 10)).isSameAs(first);
+
+        catalog(course(5, "Docker in production", null, "Advanced", 4.8, true));
+
+        // Same gap and limit, but a new catalog: the cached answer is not reused
+        assertThat(ids(courseMatcher.match(List.of("Docker"), null, 10))).containsExactly(5L);
+    }
+
+    @Test
+    void retagsCoursesWhenTheVocabularyChanges() {
+        catalog(course(6, "Kubernetes operations", "Clusters and Docker images", "Intermediate", 4.0, false));
+        assertThat(courseMatcher.match(List.of("Kubernetes"), null, 10)).isEmpty();
+
+        register("Kubernetes");
+
+        assertThat(courseMatcher.match(List.of("Kubernetes", "Docker"), null, 10))
+                .singleElement()
+                .satisfies(match -> {
+                    assertThat(match.getMatchedSkills()).containsExactlyInAnyOrder("Kubernetes", "Docker");
+                    assertThat(match.getCoverage()).isEqualTo(1.0);
+                });
+    }
+
+    @Test
+    void returnsNothingForAnEmptyGapOrLimit() {
+        assertThat(courseMatcher.match(List.of(), null, 10)).isEmpty();
+        assertThat(courseMatcher.match(List.of("Java"), null, 0)).isEmpty();
+    }
+
+    private void register(String... names) {
+        List<Skill> skills = new ArrayList<>();
+        for (String name : names) {
+            Skill skill = new Skill();
+            skill.setId(nextSkillId++);
+            skill.setName(name);
+            skills.add(skill);
+        }
+        skillDictionary.register(skills);
+    }
+
+    private void catalog(CourseDto... courses) {
+        when(courseCatalog.current()).thenReturn(new CourseCatalog.Snapshot(List.of(courses), null, null, null, null));
+    }
+
+    private static CourseDto course(long id, String title, String description, String level, double rating,
+                                    boolean free) {
+        return new CourseDto(id, title, description, "Udemy", "https://example.com/courses/" + id, level,
+                "Programming", "4 weeks", rating, free);
+    }
+
+    private static List<Long> ids(List<CourseMatchDto> matches) {
+        return matches.stream().map(match -> match.getCourse().getId()).toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.CourseDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of {@link CourseSearchIndex} on a synthetic 50k-course catalog. The catalog draws words from a
+ * Zipf-like distribution, so common query terms match a large share of the documents, as they do in a
+ * real catalog. Left out of the default build; run with {@code mvn test -Pbenchmark}. Timings are
+ * published as JUnit report entries (shown by IDEs) and are part of the failure message.
+ */
+@Tag("benchmark")
+class CourseSearchIndexBenchmarkTest {
+
+    private static final int COURSES = 50_000;
+    private static final int QUERIES = 2_000;
+    private static final int ROUNDS = 3;
+    private static final int RARE_TERMS = 20_000;
+
+    private static final String[] CATEGORIES = {
+            "Programming", "Web Development", "Data Science", "DevOps", "Design", "Cloud", "Security", "Mobile"
+    };
+    private static final String[] DIFFICULTIES = {"Beginner", "Intermediate", "Advanced"};
+    private static final String[] PROVIDERS = {
+            "Coursera", "Udemy", "edX", "Pluralsight", "freeCodeCamp", "Khan Academy", "Codecademy", "YouTube"
+    };
+    private static final String[] TOPICS = {
+            "java", "python", "javascript", "react", "spring", "boot", "docker", "kubernetes", "sql", "data",
+            "machine", "learning", "cloud", "aws", "azure", "design", "testing", "security", "api", "rest",
+            "node", "typescript", "angular", "vue", "css", "html", "linux", "git", "go", "rust", "kotlin",
+            "android", "ios", "swift", "pandas", "numpy", "statistics", "terraform", "ansible", "jenkins",
+            "microservices", "graphql", "redis", "kafka", "postgresql", "mongodb", "figma", "ux", "ui",
+            "algorithms", "structures", "networking", "c++", "c#", "scala", "spark", "hadoop", "tableau",
+            "excel", "agile", "scrum", "devops", "observability", "performance", "concurrency", "compilers"
+    };
+    private static final String[] FILLER = {
+            "introduction", "complete", "guide", "course", "fundamentals", "bootcamp", "masterclass",
+            "practical", "hands", "projects", "build", "real", "world", "applications", "beginners",
+            "professionals", "modern", "deep", "dive", "essentials", "advanced", "patterns", "best", "practices"
+    };
+
+    private static CourseSearchIndex index;
+    private static String[] queries;
+    private static String[] prefixes;
+
+    @BeforeAll
+    static void buildCatalog() {
+        Random random = new Random(42);
+        List<CourseDto> courses = new ArrayList<>(COURSES);
+        for (long id = 1; id <= COURSES; id++) {
+            String title = words(random, 3 + random.nextInt(4));
+            String description = words(random, 15 + random.nextInt(20));
+            courses.add(new CourseDto(id, title, description, PROVIDERS[random.nextInt(PROVIDERS.length)],
+                    "https://example.com/courses/" + id, DIFFICULTIES[random.nextInt(DIFFICULTIES.length)],
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], "4 weeks", 3 + random.nextDouble() * 2,
+                    random.nextBoolean()));
+        }
+        index = new CourseSearchIndex();
+        index.reload(courses);
+
+        queries = new String[QUERIES];
+        prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = words(random, 1 + random.nextInt(3));
+            String topic = TOPICS[random.nextInt(TOPICS.length)];
+            prefixes[i] = topic.substring(0, Math.min(topic.length(), 1 + random.nextInt(3)));
+        }
+    }
+
+    @Test
+    void searchP99StaysInSingleDigitMilliseconds(TestReporter reporter) {
+        assertThat(index.size()).isEqualTo(COURSES);
+
+        long[] search = bestPercentiles(i -> index.search(queries[i], null, null, 0, 20).total());
+        long[] filtered = bestPercentiles(i -> index.search(queries[i], "Programming", "Beginner", 0, 20).total());
+        long[] autocomplete = bestPercentiles(i -> index.autocomplete(prefixes[i], 10).size());
+        String timings = String.format(Locale.ROOT, "p50/p99 ms: search %.2f/%.2f, search+filter %.2f/%.2f, "
+                        + "autocomplete %.3f/%.3f", search[0] / 1e6, search[1] / 1e6, filtered[0] / 1e6,
+                filtered[1] / 1e6, autocomplete[0] / 1e6, autocomplete[1] / 1e6);
+        reporter.publishEntry("timings", timings);
+
+        assertThat(search[1]).as(timings).isLessThan(10_000_000L);
+        assertThat(filtered[1]).as(timings).isLessThan(10_000_000L);
+        assertThat(autocomplete[1]).as(timings).isLessThan(1_000_000L);
+    }
+
+    /**
+     * p50 and p99 in nanoseconds over all queries, from the round with the lowest p99.
+     */
+    private static long[] bestPercentiles(ToIntFunction<Integer> query) {
+        int sink = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            sink += query.applyAsInt(i);
+        }
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE};
+        long[] latencies = new long[QUERIES];
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < QUERIES; i++) {
+                long started = System.nanoTime();
+                sink += query.applyAsInt(i);
+                latencies[i] = System.nanoTime() - started;
+            }
+            Arrays.sort(latencies);
+            long p99 = latencies[QUERIES * 99 / 100];
+            if (p99 < best[1]) {
+                best = new long[] {latencies[QUERIES / 2], p99};
+            }
+        }
+        assertThat(sink).isNotEqualTo(42); // Keeps the calls from being optimized away
+        return best;
+    }
+
+    /**
+     * Words skewed towards the front of each list, so a few terms are very common, mixed with a long
+     * tail of rare ones.
+     */
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            int pick = random.nextInt(8);
+            if (pick == 0) {
+                // Long tail of rare words: names, versions, niche tools
+                text.append("term").append(random.nextInt(RARE_TERMS));
+                continue;
+            }
+            String[] source = pick < 3 ? FILLER : TOPICS;
+            text.append(source[(int) (source.length * Math.pow(random.nextDouble(), 2))]);
+        }
+        return text.toString();
+    }
+}
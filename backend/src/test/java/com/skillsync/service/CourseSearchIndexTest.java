@@ -0,0 +1,135 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.CourseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseSearchIndexTest {
+
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    void buildCatalog() {
+        index = new CourseSearchIndex();
+        index.reload(List.of(
+                course(1, "Java Fundamentals", "Learn the basics of Java programming", "Udemy",
+                        "Programming", "Beginner"),
+                course(2, "Spring Boot Microservices", "Build services with Java and Spring", "Coursera",
+                        "Programming", "Intermediate"),
+                course(3, "Python for Data Science", "Introduction to pandas and numpy", "Coursera",
+                        "Data Science", "Beginner"),
+                course(4, "Advanced Java Concurrency", "Threads, locks and the Java memory model", "Udemy",
+                        "Programming", "Advanced"),
+                course(5, "Docker Essentials", "Containers for developers", "Pluralsight",
+                        "DevOps", "Beginner")));
+    }
+
+    @Test
+    void ranksTitleHitsAndShorterCoursesFirst() {
+        CourseSearchIndex.SearchResult result = index.search("java", null, null, 0, 10);
+
+        // 1 and 4 have "java" in title and description, 1 is shorter; 2 only in its description
+        assertThat(ids(result)).containsExactly(1L, 4L, 2L);
+        assertThat(result.total()).isEqualTo(3);
+    }
+
+    @Test
+    void weighsRareTermsAboveCommonOnes() {
+        // "docker" is in one course, "java" in three
+        assertThat(ids(index.search("java docker", null, null, 0, 10))).startsWith(5L).hasSize(4);
+    }
+
+    @Test
+    void breaksTiesByInsertionOrder() {
+        index.reload(List.of(
+                course(20, "Kotlin Basics", "Kotlin", "Udemy", "Programming", "Beginner"),
+                course(10, "Kotlin Basics", "Kotlin", "Udemy", "Programming", "Beginner")));
+
+        assertThat(ids(index.search("kotlin", null, null, 0, 10))).containsExactly(20L, 10L);
+    }
+
+    @Test
+    void filtersByCategoryAndDifficulty() {
+        CourseSearchIndex.SearchResult advanced = index.search("java", "programming", "ADVANCED", 0, 10);
+        assertThat(ids(advanced)).containsExactly(4L);
+        assertThat(advanced.total()).isEqualTo(1);
+
+        assertThat(index.search("java", "DevOps", null, 0, 10).total()).isZero();
+        assertThat(ids(index.search("java spring", "Programming", "", 0, 10))).contains(2L).hasSize(3);
+    }
+
+    @Test
+    void pagesThroughTheRanking() {
+        CourseSearchIndex.SearchResult second = index.search("java", null, null, 1, 1);
+
+        assertThat(ids(second)).containsExactly(4L);
+        assertThat(second.total()).isEqualTo(3);
+        assertThat(index.search("java", null, null, 3, 10).items()).isEmpty();
+    }
+
+    @Test
+    void deepOffsetsReturnAnEmptyPage() {
+        CourseSearchIndex.SearchResult result = index.search("java", null, null, Integer.MAX_VALUE - 5, 100);
+        assertThat(result.items()).isEmpty();
+        assertThat(result.total()).isEqualTo(3);
+    }
+
+    @Test
+    void indexesAddedCourses() {
+        index.add(course(6, "Kubernetes in Production", "Run containers at scale", "Udemy",
+                "DevOps", "Advanced"));
+
+        assertThat(index.size()).isEqualTo(6);
+        assertThat(ids(index.search("kubernetes", null, null, 0, 10))).containsExactly(6L);
+        assertThat(ids(index.search("containers", null, null, 0, 10))).containsExactlyInAnyOrder(5L, 6L);
+        assertThat(index.autocomplete("kub", 5)).containsExactly("kubernetes");
+    }
+
+    @Test
+    void replacesACourseAddedAgain() {
+        index.add(course(5, "Terraform Basics", "Infrastructure as code", "Pluralsight", "DevOps", "Beginner"));
+
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.search("docker", null, null, 0, 10).total()).isZero();
+        assertThat(ids(index.search("terraform", null, null, 0, 10))).containsExactly(5L);
+        assertThat(index.autocomplete("doc", 5)).isEmpty();
+        assertThat(index.autocomplete("terra", 5)).containsExactly("terraform");
+    }
+
+    @Test
+    void completesTheLastWordMostUsedTermsFirst() {
+        // "programming" is in three courses, the other "p" terms in one
+        assertThat(index.autocomplete("p", 10)).first().isEqualTo("programming");
+        assertThat(index.autocomplete("spring bo", 5)).containsExactly("spring boot");
+        assertThat(index.autocomplete("xyz", 5)).isEmpty();
+    }
+
+    @Test
+    void termsDoNotDependOnTheDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        try {
+            // Turkish lower-cases 'I' to a dotless 'ı', which would split "INTRO" from "intro"
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertThat(CourseSearchIndex.termFrequencies("INTRODUCTION to Linux"))
+                    .containsKeys("introduction", "linux");
+            assertThat(index.autocomplete("INTRO", 5)).contains("introduction");
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    private static CourseDto course(long id, String title, String description, String provider, String category,
+                                    String difficulty) {
+        return new CourseDto(id, title, description, provider, "https://example.com/courses/" + id, difficulty,
+                category, "4 weeks", 4.5, true);
+    }
+
+    private static List<Long> ids(CourseSearchIndex.SearchResult result) {
+        return result.items().stream().map(CourseDto::getId).toList();
+    }
+}
@@ -0,0 +1,133 @@
+package com.skillsync.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Timed comparison of {@link FallbackRecommender#recommend} with the substring loop it replaced, on a
+ * prompt of typical length. The old loop is faster only because it stops at the first substring hit,
+ * which is also why it was wrong ("build" contains "ui", so every answer was UI/UX). Scoring all 65
+ * weighted keywords with substring searches costs several times what the single matcher pass does.
+ * Left out of the default build; run with {@code mvn test -Pbenchmark}. Timings are published as JUnit
+ * report entries (shown by IDEs) and are part of the failure message.
+ */
+@Tag("benchmark")
+class FallbackRecommenderBenchmarkTest {
+
+    private static final String[] LEGACY_KEYWORDS = {
+            "ui", "ux", "design", "figma", "user interface", "user experience",
+            "react", "javascript", "css", "html", "frontend", "web design",
+            "java", "spring", "backend", "api", "database",
+            "data", "python", "analytics", "machine learning",
+            "devops", "docker", "kubernetes", "cloud"
+    };
+
+    // The matcher's 65 keywords, scanned one substring search at a time
+    private static final String[] ALL_KEYWORDS = {
+            "ux", "ui/ux", "figma", "user interface", "user experience", "user research", "ui", "sketch",
+            "prototyping", "wireframing", "product design", "design", "react", "frontend", "front-end",
+            "front end", "vue", "angular", "next.js", "javascript", "typescript", "css", "html", "web design",
+            "redux", "tailwind", "data science", "data analysis", "machine learning", "deep learning", "pandas",
+            "numpy", "data", "analytics", "ml", "statistics", "tableau", "power bi", "python", "devops",
+            "docker", "kubernetes", "k8s", "terraform", "ci/cd", "sre", "cloud", "aws", "azure", "gcp",
+            "jenkins", "java", "spring", "backend", "back-end", "back end", "api", "rest api", "microservices",
+            "node.js", "hibernate", "kotlin", "database", "sql"
+    };
+
+    private static final int CALLS = 50_000;
+    private static final int ROUNDS = 5;
+
+    private static final String PROMPT = FallbackRecommenderTest.PROMPT;
+
+    private final FallbackRecommender recommender = new FallbackRecommender();
+
+    @Test
+    void matcherScoresEveryKeywordInOnePass(TestReporter reporter) {
+        // The old loop's first hit is UI/UX, from "build"
+        assertThat(legacyDomain(PROMPT)).isEqualTo(0);
+
+        double[] nanos = bestNanosPerCall(List.of(
+                prompt -> recommender.recommend(prompt).hashCode(),
+                FallbackRecommenderBenchmarkTest::legacyDomain,
+                FallbackRecommenderBenchmarkTest::substringHits));
+        double matcherNanos = nanos[0];
+        double legacyNanos = nanos[1];
+        double substringNanos = nanos[2];
+        String timings = String.format(Locale.ROOT, "matcher %.0f, old loop %.0f, contains loop %.0f ns/call",
+                matcherNanos, legacyNanos, substringNanos);
+        reporter.publishEntry("timings", timings);
+
+        // Loose bounds that catch a regression without failing on a noisy machine
+        assertThat(matcherNanos).as(timings).isLessThan(substringNanos);
+        assertThat(matcherNanos).as(timings).isLessThan(legacyNanos * 5);
+    }
+
+    /**
+     * The classification the fallback used before the matcher: index of the first domain with any
+     * substring hit, in the order UI/UX, frontend, backend, data, devops; 5 (full stack) for none.
+     */
+    private static int legacyDomain(String prompt) {
+        String lower = prompt.toLowerCase(Locale.ROOT);
+        int[] domainEnds = {6, 12, 17, 21, 25};
+        int domain = 0;
+        for (int i = 0; i < LEGACY_KEYWORDS.length; i++) {
+            while (i >= domainEnds[domain]) {
+                domain++;
+            }
+            if (lower.contains(LEGACY_KEYWORDS[i])) {
+                return domain;
+            }
+        }
+        return domainEnds.length;
+    }
+
+    private static int substringHits(String prompt) {
+        String lower = prompt.toLowerCase(Locale.ROOT);
+        int hits = 0;
+        for (String keyword : ALL_KEYWORDS) {
+            if (lower.contains(keyword)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Best time per call of each function. Rounds alternate between the functions, so a noisy
+     * neighbour (GC, other tests' threads) slows them all alike rather than skewing one.
+     */
+    private static double[] bestNanosPerCall(List<ToIntFunction<String>> calls) {
+        int sink = 0;
+        for (ToIntFunction<String> call : calls) {
+            for (int i = 0; i < CALLS; i++) {
+                sink += call.applyAsInt(PROMPT);
+            }
+        }
+        long[] best = new long[calls.size()];
+        Arrays.fill(best, Long.MAX_VALUE);
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int c = 0; c < calls.size(); c++) {
+                ToIntFunction<String> call = calls.get(c);
+                long started = System.nanoTime();
+                for (int i = 0; i < CALLS; i++) {
+                    sink += call.applyAsInt(PROMPT);
+                }
+                best[c] = Math.min(best[c], System.nanoTime() - started);
+            }
+        }
+        assertThat(sink).isNotEqualTo(42); // Keeps the calls from being optimized away
+        double[] nanosPerCall = new double[best.length];
+        for (int c = 0; c < best.length; c++) {
+            nanosPerCall[c] = (double) best[c] / CALLS;
+        }
+        return nanosPerCall;
+    }
+}
@@ -0,0 +1,67 @@
+package com.skillsync.service;
+
+import com.skillsync.service.FallbackRecommender.Domain;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FallbackRecommenderTest {
+
+    // A prompt of typical length, as CareerService builds it
+    static final String PROMPT = """
+            Analyze the following user profile and provide personalized career recommendations.
+            Build the answer as a JSON object with recommendedRoles, missingSkills, recommendedCourses,
+            projectIdeas and insights.
+
+            Full name: Alice Example
+            Education: BSc Computer Science
+            Years of experience: 2
+            Career goal: become a senior backend engineer building reliable services for fintech products,
+            owning the design of public interfaces and the data model behind them
+            Interests: distributed systems, observability, payments, mentoring junior developers,
+            reading about storage engines and consensus protocols
+            Current skills: Java, Spring Boot, Hibernate, PostgreSQL, Docker, Git, JUnit, Maven, Linux,
+            REST API design, message queues, SQL tuning, code review
+
+            Consider the user's current skills, their career goal and their interests. Suggest roles they
+            could grow into, the skills they are missing, courses to close those gaps and project ideas.
+            """;
+
+    private final FallbackRecommender recommender = new FallbackRecommender();
+
+    @Test
+    void matchesWholeWordsOnly() {
+        // No "ui" in "Build" or "building", no "sql" in "PostgreSQL", no "java" in "JavaScript"
+        assertThat(recommender.matchedKeywords(PROMPT)).containsExactlyInAnyOrder(
+                "backend", "design", "data", "java", "spring", "hibernate", "docker", "rest api", "api", "design",
+                "sql");
+        assertThat(recommender.matchedKeywords("JavaScript guide")).containsExactly("javascript");
+    }
+
+    @Test
+    void sumsTheWeightOfEveryOccurrence() {
+        int[] scores = recommender.scores(PROMPT);
+
+        assertThat(scores[Domain.BACKEND.ordinal()]).isEqualTo(3 + 3 + 3 + 2 + 2 + 2 + 1);
+        assertThat(scores[Domain.DEVOPS.ordinal()]).isEqualTo(3);
+        assertThat(scores[Domain.UI_UX.ordinal()]).isEqualTo(1 + 1);
+        assertThat(scores[Domain.DATA_SCIENCE.ordinal()]).isEqualTo(2);
+        assertThat(scores[Domain.FRONTEND.ordinal()]).isZero();
+        assertThat(recommender.scores("docker docker DOCKER")[Domain.DEVOPS.ordinal()]).isEqualTo(9);
+    }
+
+    @Test
+    void recommendsTheBestScoringDomain() {
+        assertThat(recommender.recommend(PROMPT).recommendedRoles()).contains("Backend Developer");
+        assertThat(recommender.recommend("Figma prototypes and user research").recommendedRoles())
+                .contains("UI/UX Designer");
+    }
+
+    @Test
+    void breaksTiesByDeclarationOrderAndFallsBackToFullStack() {
+        // DevOps and backend both score 3; DevOps is declared first
+        assertThat(recommender.recommend("Docker and Java").recommendedRoles()).contains("DevOps Engineer");
+        assertThat(recommender.recommend("Gardening and woodwork").recommendedRoles())
+                .contains("Full Stack Developer");
+    }
+}
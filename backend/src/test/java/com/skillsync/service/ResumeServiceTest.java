@@ -0,0 +1,115 @@
+package com.skillsync.service;
+
+import com.skillsync.dto.ProfileDto;
+import com.skillsync.exception.ApiException;
+import com.skillsync.model.Skill;
+import com.skillsync.util.TestPdfs;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ResumeServiceTest {
+
+    private static final String RESUME = "BT /F1 14 Tf 72 740 Td (Jane Doe) Tj 0 -20 Td "
+            + "[(Backend developer with 6 years of experience in) -250 (Java, PostgreSQL and K8s.)] TJ ET";
+
+    private ResumeService resumeService;
+
+    @BeforeEach
+    void setUp() {
+        SkillDictionary skillDictionary = new SkillDictionary();
+        List<Skill> skills = new ArrayList<>();
+        long id = 1;
+        for (String name : List.of("Java", "PostgreSQL", "Kubernetes", "Python")) {
+            Skill skill = new Skill();
+            skill.setId(id++);
+            skill.setName(name);
+            skills.add(skill);
+        }
+        skillDictionary.register(skills);
+        resumeService = new ResumeService(skillDictionary, new SimpleMeterRegistry(), 1, 4, 5120);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resumeService.shutdown();
+    }
+
+    @Test
+    void readsAPlainTextPdf() {
+        ProfileDto profile = parse(upload("resume.pdf", "application/pdf", TestPdfs.plain(RESUME)));
+
+        assertThat(profile.getUserId()).isEqualTo(7L);
+        assertThat(profile.getFullName()).isEqualTo("Jane Doe");
+        assertThat(profile.getYearsOfExperience()).isEqualTo(6);
+        assertThat(profile.getSkills()).containsExactlyInAnyOrder("Java", "PostgreSQL");
+    }
+
+    @Test
+    void readsAFlateCompressedPdf() {
+        byte[] pdf = TestPdfs.flate(TestPdfs.deflate(RESUME));
+        ProfileDto profile = parse(upload("resume.pdf", "application/pdf", pdf));
+
+        assertThat(profile.getFullName()).isEqualTo("Jane Doe");
+        assertThat(profile.getSkills()).containsExactlyInAnyOrder("Java", "PostgreSQL");
+    }
+
+    @Test
+    void rejectsADecompressionBombQuickly() {
+        // Well under the upload limit, but its streams inflate to over a gigabyte
+        byte[] stream = TestPdfs.bomb("BT (", "A", 300L * 1024 * 1024);
+        byte[] pdf = TestPdfs.flate(stream, stream, stream, stream, stream);
+        assertThat(pdf.length).isLessThan(5120 * 1024);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                assertThatThrownBy(() -> parse(upload("resume.pdf", "application/pdf", pdf)))
+                        .isInstanceOfSatisfying(ApiException.class, e ->
+                                assertThat(e.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)));
+    }
+
+    @Test
+    void rejectsAnUploadThatIsNeitherPdfNorText() {
+        byte[] zip = {'P', 'K', 3, 4, 20, 0, 6, 0};
+        assertThatThrownBy(() -> parse(upload("resume.docx", "application/octet-stream", zip)))
+                .isInstanceOfSatisfying(ApiException.class, e ->
+                        assertThat(e.getStatus()).isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+    }
+
+    @Test
+    void readsAPlainTextResume() {
+        byte[] text = "Sam Lee\n3 yrs experience with Python\n".getBytes(StandardCharsets.UTF_8);
+        ProfileDto profile = parse(upload("resume.txt", "text/plain", text));
+
+        assertThat(profile.getFullName()).isEqualTo("Sam Lee");
+        assertThat(profile.getYearsOfExperience()).isEqualTo(3);
+        assertThat(profile.getSkills()).containsExactly("Python");
+    }
+
+    private static MockMultipartFile upload(String name, String contentType, byte[] content) {
+        return new MockMultipartFile("file", name, contentType, content);
+    }
+
+    /**
+     * Waits for the background parse, rethrowing what it failed with.
+     */
+    private ProfileDto parse(MockMultipartFile file) {
+        try {
+            return resumeService.parseResume(7L, file).join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.skillsync.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsThatSpanLines() throws IOException {
+        CsvReader csv = reader("title,description\n\"Java\",\"first line\nsecond line\"\nSQL,plain\n", 1000);
+
+        assertThat(csv.next()).containsExactly("title", "description");
+        assertThat(csv.next()).containsExactly("Java", "first line\nsecond line");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        assertThat(csv.next()).containsExactly("SQL", "plain");
+        assertThat(csv.getRecordLine()).isEqualTo(4);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        CsvReader csv = reader("\"say \"\"hi\"\"\",\"\"\"\",x\n", 1000);
+
+        assertThat(csv.next()).containsExactly("say \"hi\"", "\"", "x");
+    }
+
+    @Test
+    void acceptsCrLfLineEndsAndSkipsBlankLines() throws IOException {
+        CsvReader csv = reader("a,b\r\n\r\nc,,\r\nd,e", 1000);
+
+        assertThat(csv.next()).containsExactly("a", "b");
+        assertThat(csv.next()).containsExactly("c", "", "");
+        assertThat(csv.getRecordLine()).isEqualTo(3);
+        // No line end after the last record
+        assertThat(csv.next()).containsExactly("d", "e");
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void reportsAQuoteLeftOpenAtTheEnd() throws IOException {
+        CsvReader csv = reader("a,b\n\"never closed,x\ny,z\n", 1000);
+
+        assertThat(csv.next()).containsExactly("a", "b");
+        assertThatThrownBy(csv::next)
+                .isInstanceOfSatisfying(CsvReader.MalformedRecordException.class, e -> {
+                    assertThat(e.getRecordLine()).isEqualTo(2);
+                    assertThat(e.getMessage()).isEqualTo("Unclosed quote");
+                });
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void skipsAnOverLongRecordAndReadsOn() throws IOException {
+        String longQuoted = "\"" + "x".repeat(30) + "\n" + "y".repeat(30) + "\"";
+        CsvReader csv = reader("ok,1\n" + "z".repeat(50) + ",2\n" + longQuoted + ",3\nnext,4\n", 20);
+
+        assertThat(csv.next()).containsExactly("ok", "1");
+        assertThatThrownBy(csv::next)
+                .isInstanceOfSatisfying(CsvReader.MalformedRecordException.class, e -> {
+                    assertThat(e.getRecordLine()).isEqualTo(2);
+                    assertThat(e.getMessage()).isEqualTo("Record is longer than 20 characters");
+                });
+        // A quoted record spanning lines is skipped as a whole
+        assertThatThrownBy(csv::next)
+                .isInstanceOfSatisfying(CsvReader.MalformedRecordException.class,
+                        e -> assertThat(e.getRecordLine()).isEqualTo(3));
+        assertThat(csv.next()).containsExactly("next", "4");
+        assertThat(csv.getRecordLine()).isEqualTo(5);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void readsRecordsLongerThanItsBuffer() throws IOException {
+        String description = "d".repeat(20_000);
+        CsvReader csv = reader("t," + description + "\n", 64 * 1024);
+
+        List<String> record = csv.next();
+        assertThat(record).hasSize(2);
+        assertThat(record.get(1)).isEqualTo(description);
+    }
+
+    private static CsvReader reader(String text, int maxRecordChars) {
+        return new CsvReader(new StringReader(text), maxRecordChars);
+    }
+}
@@ -0,0 +1,92 @@
+package com.skillsync.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class PdfTextExtractorTest {
+
+    private static final int MAX_STREAM_BYTES = 2 * 1024 * 1024;
+    private static final long MAX_INFLATED_BYTES = 32L * 1024 * 1024;
+
+    private static final String PAGE = "BT /F1 12 Tf 72 712 Td (Jane Doe) Tj 0 -14 Td "
+            + "[(Java) -250 (and) -250 (SQL)] TJ T* (C\\053\\053 \\(advanced\\)) ' <48656c6c6f> Tj ET";
+
+    @Test
+    void readsTextOperatorsOfAnUnfilteredStream() throws IOException {
+        assertThat(extract(TestPdfs.plain(PAGE), MAX_INFLATED_BYTES))
+                .isEqualTo("Jane Doe\nJava and SQL\nC++ (advanced)\n");
+    }
+
+    @Test
+    void inflatesFlateStreams() throws IOException {
+        assertThat(extract(TestPdfs.flate(TestPdfs.deflate(PAGE)), MAX_INFLATED_BYTES))
+                .isEqualTo("Jane Doe\nJava and SQL\nC++ (advanced)\n");
+    }
+
+    @Test
+    void skipsStreamsThatHoldNoPageText() throws IOException {
+        byte[] pdf = ("%PDF-1.4\n1 0 obj\n<< /Subtype /Image /Length 20 >>\nstream\nBT (pixels) Tj ET\n"
+                + "endstream\nendobj\n2 0 obj\n<< /Length 20 >>\nstream\nBT (Kotlin) Tj ET\nendstream\nendobj\n")
+                .getBytes(StandardCharsets.ISO_8859_1);
+        assertThat(extract(pdf, MAX_INFLATED_BYTES)).isEqualTo("Kotlin\n");
+    }
+
+    @Test
+    void stopsAnUnclosedLiteralInADecompressionBomb() {
+        // About 300 KB on disk, 300 MB inflated, all inside one string that never closes
+        byte[] bomb = TestPdfs.bomb("BT (", "A", 300L * 1024 * 1024);
+        assertThat(bomb.length).isLessThan(400 * 1024);
+
+        List<String> chunks = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> PdfTextExtractor.extract(
+                new ByteArrayInputStream(TestPdfs.flate(bomb)), MAX_STREAM_BYTES, MAX_INFLATED_BYTES, chunks::add));
+        // The string is cut off with its stream and never shown
+        assertThat(chunks).isEmpty();
+    }
+
+    @Test
+    void passesOnLongTextWithoutLineEndsInBoundedChunks() {
+        byte[] bomb = TestPdfs.bomb("BT ", "(" + "A".repeat(100) + ") Tj ", 64L * 1024 * 1024);
+
+        List<Integer> chunkLengths = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> PdfTextExtractor.extract(
+                new ByteArrayInputStream(TestPdfs.flate(bomb)), MAX_STREAM_BYTES, MAX_INFLATED_BYTES,
+                chunk -> chunkLengths.add(chunk.length())));
+
+        assertThat(chunkLengths).isNotEmpty().allSatisfy(length -> assertThat(length).isLessThan(32 * 1024));
+        // The stream stops at 8 MB of content, of which under 8M characters are text
+        assertThat(chunkLengths.stream().mapToLong(Integer::longValue).sum()).isLessThan(8L * 1024 * 1024);
+    }
+
+    @Test
+    void failsOnceTheDocumentInflatesPastItsBudget() {
+        byte[] stream = TestPdfs.bomb("BT (", "A", 16L * 1024 * 1024);
+        byte[] pdf = TestPdfs.flate(stream, stream, stream, stream, stream);
+
+        assertThatThrownBy(() -> extract(pdf, MAX_INFLATED_BYTES))
+                .isInstanceOf(PdfTextExtractor.InflatedSizeException.class);
+    }
+
+    @Test
+    void recognizesThePdfHeader() {
+        assertThat(PdfTextExtractor.isPdf("%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII))).isTrue();
+        assertThat(PdfTextExtractor.isPdf(new byte[] {'P', 'K', 3, 4, 0})).isFalse();
+        assertThat(PdfTextExtractor.isPdf("%PD".getBytes(StandardCharsets.US_ASCII))).isFalse();
+    }
+
+    private static String extract(byte[] pdf, long maxInflatedBytes) throws IOException {
+        StringBuilder text = new StringBuilder();
+        PdfTextExtractor.extract(new ByteArrayInputStream(pdf), MAX_STREAM_BYTES, maxInflatedBytes, text::append);
+        return text.toString();
+    }
+}
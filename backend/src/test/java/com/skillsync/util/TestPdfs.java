@@ -0,0 +1,85 @@
+package com.skillsync.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Builds small PDF files for tests: just the objects and content streams the extractor reads.
+ */
+public final class TestPdfs {
+
+    private TestPdfs() {
+    }
+
+    /**
+     * A PDF with one unfiltered content stream per argument.
+     */
+    public static byte[] plain(String... contentStreams) {
+        ByteArrayOutputStream pdf = header();
+        int object = 1;
+        for (String content : contentStreams) {
+            byte[] body = content.getBytes(StandardCharsets.ISO_8859_1);
+            stream(pdf, object++, "<< /Length " + body.length + " >>", body);
+        }
+        return trailer(pdf);
+    }
+
+    /**
+     * A PDF with one Flate-encoded content stream per argument, each already compressed.
+     */
+    public static byte[] flate(byte[]... compressedStreams) {
+        ByteArrayOutputStream pdf = header();
+        int object = 1;
+        for (byte[] body : compressedStreams) {
+            stream(pdf, object++, "<< /Length " + body.length + " /Filter /FlateDecode >>", body);
+        }
+        return trailer(pdf);
+    }
+
+    public static byte[] deflate(String content) {
+        return bomb(content, "", content.length());
+    }
+
+    /**
+     * {@code prefix} followed by {@code pattern} repeated until the content reaches {@code inflatedBytes},
+     * compressed at the highest ratio: a few hundred KB for hundreds of MB of content.
+     */
+    public static byte[] bomb(String prefix, String pattern, long inflatedBytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed,
+                new Deflater(Deflater.BEST_COMPRESSION), 65536)) {
+            out.write(prefix.getBytes(StandardCharsets.ISO_8859_1));
+            if (!pattern.isEmpty()) {
+                byte[] block = pattern.repeat(Math.max(1, 65536 / pattern.length()))
+                        .getBytes(StandardCharsets.ISO_8859_1);
+                for (long written = prefix.length(); written < inflatedBytes; written += block.length) {
+                    out.write(block);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static ByteArrayOutputStream header() {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        pdf.writeBytes("%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII));
+        return pdf;
+    }
+
+    private static void stream(ByteArrayOutputStream pdf, int object, String dictionary, byte[] body) {
+        pdf.writeBytes((object + " 0 obj\n" + dictionary + "\nstream\n").getBytes(StandardCharsets.US_ASCII));
+        pdf.writeBytes(body);
+        pdf.writeBytes("\nendstream\nendobj\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] trailer(ByteArrayOutputStream pdf) {
+        pdf.writeBytes("%%EOF\n".getBytes(StandardCharsets.US_ASCII));
+        return pdf.toByteArray();
+    }
+}
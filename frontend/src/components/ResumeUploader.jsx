@@ -3,8 +3,11 @@ import { useDropzone } from "react-dropzone";
 import { motion } from "framer-motion";
 import { FiUpload, FiFile, FiX, FiCheck } from "react-icons/fi";
 import { toast } from "react-toastify";
+import { useAuth } from "../context/AuthContext";
+import { profileAPI } from "../services/api";
 
 const ResumeUploader = ({ onResumeExtracted }) => {
+  const { user } = useAuth();
   const [file, setFile] = useState(null);
   const [extracting, setExtracting] = useState(false);
   const [extractedData, setExtractedData] = useState(null);
@@ -31,219 +34,21 @@ const ResumeUploader = ({ onResumeExtracted }) => {
     setExtracting(true);
 
     try {
-      let text = "";
-
-      // For text files, we can read directly
-      if (file.type === "text/plain") {
-        text = await file.text();
-      } else if (file.type === "application/pdf") {
-        // For PDF files, use a more robust extraction method
-        try {
-          const formData = new FormData();
-          formData.append("file", file);
-
-          // Try using PDF.js library if available
-          const pdfjsLib = window["pdfjs-dist/build/pdf"];
-          if (pdfjsLib) {
-            const arrayBuffer = await file.arrayBuffer();
-            const pdf = await pdfjsLib.getDocument({ data: arrayBuffer })
-              .promise;
-            let fullText = "";
-
-            for (let i = 1; i <= pdf.numPages; i++) {
-              const page = await pdf.getPage(i);
-              const textContent = await page.getTextContent();
-              const pageText = textContent.items
-                .map((item) => item.str)
-                .join(" ");
-              fullText += pageText + "\n";
-            }
-            text = fullText;
-          } else {
-            // Fallback: Read PDF as binary and extract visible text
-            const reader = new FileReader();
-            text = await new Promise((resolve, reject) => {
-              reader.onload = async (e) => {
-                const arrayBuffer = e.target.result;
-                const uint8Array = new Uint8Array(arrayBuffer);
-                let extractedText = "";
-
-                // Convert bytes to string and extract readable text
-                const decoder = new TextDecoder("utf-8", { fatal: false });
-                const rawText = decoder.decode(uint8Array);
-
-                // Extract text between common PDF text markers
-                const textPatterns = [
-                  /\(([^)]{2,})\)/g, // Text in parentheses
-                  /\[([^\]]{2,})\]/g, // Text in brackets
-                ];
-
-                for (const pattern of textPatterns) {
-                  const matches = rawText.matchAll(pattern);
-                  for (const match of matches) {
-                    extractedText += match[1] + " ";
-                  }
-                }
-
-                // Also try to extract plain visible ASCII text
-                const asciiText = rawText.replace(/[^\x20-\x7E\n]/g, "");
-                extractedText += " " + asciiText;
-
-                resolve(extractedText.trim() || rawText);
-              };
-              reader.onerror = reject;
-              reader.readAsArrayBuffer(file);
-            });
-          }
-        } catch (pdfError) {
-          console.error("PDF extraction error:", pdfError);
-          toast.warning(
-            "PDF extraction had issues. Please try a TXT file for best results.",
-            {
-              position: "top-right",
-            },
-          );
-        }
-      }
-
-      // Extract skills using common tech keywords
-      const skillKeywords = [
-        "Java",
-        "Python",
-        "JavaScript",
-        "TypeScript",
-        "React",
-        "Angular",
-        "Vue",
-        "Node.js",
-        "Node",
-        "Spring Boot",
-        "Spring",
-        "Django",
-        "Flask",
-        "Express",
-        "SQL",
-        "MongoDB",
-        "PostgreSQL",
-        "MySQL",
-        "Redis",
-        "NoSQL",
-        "Docker",
-        "Kubernetes",
-        "K8s",
-        "AWS",
-        "Azure",
-        "GCP",
-        "Google Cloud",
-        "Git",
-        "GitHub",
-        "GitLab",
-        "CI/CD",
-        "Jenkins",
-        "Agile",
-        "Scrum",
-        "HTML",
-        "CSS",
-        "SCSS",
-        "Sass",
-        "REST API",
-        "GraphQL",
-        "Microservices",
-        "Machine Learning",
-        "ML",
-        "Data Science",
-        "AI",
-        "TensorFlow",
-        "PyTorch",
-        "PHP",
-        "Ruby",
-        "Go",
-        "Rust",
-        "C++",
-        "C#",
-        ".NET",
-        "Swift",
-        "Kotlin",
-        "Linux",
-        "Unix",
-        "Bash",
-        "Shell",
-        "PowerShell",
-        "Tailwind",
-        "Bootstrap",
-        "Material-UI",
-        "Redux",
-        "Next.js",
-        "Nest.js",
-      ];
-
-      const textLower = text.toLowerCase();
-      const foundSkills = skillKeywords.filter((skill) => {
-        const skillLower = skill.toLowerCase();
-        // Check for whole word matches to avoid false positives
-        const regex = new RegExp(`\\b${skillLower}\\b`, "i");
-        return regex.test(textLower);
-      });
-
-      // Remove duplicates and similar skills
-      const uniqueSkills = [...new Set(foundSkills)];
-
-      // Extract email using regex
-      const emailRegex = /\b[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\.[A-Z|a-z]{2,}\b/g;
-      const emails = text.match(emailRegex);
-
-      // Extract phone numbers
-      const phoneRegex =
-        /(\+?\d{1,3}[-.\s]?)?\(?\d{3}\)?[-.\s]?\d{3}[-.\s]?\d{4}/g;
-      const phones = text.match(phoneRegex);
-
-      // Extract years of experience (multiple patterns)
-      let yearsOfExperience = 0;
-      const experiencePatterns = [
-        /(\d+)\s*(?:years?|yrs?)\s*(?:of\s*)?(?:experience|exp)/gi,
-        /experience[:\s]+(\d+)\s*(?:years?|yrs?)/gi,
-        /(\d+)\+?\s*(?:years?|yrs?)/gi,
-      ];
-
-      for (const pattern of experiencePatterns) {
-        const matches = text.match(pattern);
-        if (matches && matches.length > 0) {
-          const numbers = matches[0].match(/\d+/);
-          if (numbers) {
-            yearsOfExperience = Math.max(
-              yearsOfExperience,
-              parseInt(numbers[0]),
-            );
-          }
-        }
-      }
-
-      // Extract name (usually at the top of resume)
-      const lines = text.split("\n").filter((line) => line.trim().length > 0);
-      let extractedName = "";
-      if (lines.length > 0) {
-        // First non-empty line is often the name
-        const firstLine = lines[0].trim();
-        // Check if it looks like a name (no special chars, reasonable length)
-        if (firstLine.length < 50 && /^[a-zA-Z\s.]+$/.test(firstLine)) {
-          extractedName = firstLine;
-        }
-      }
+      // Parsed on the server, which matches against the full skill dictionary
+      const response = await profileAPI.parseResume(user.userId, file);
+      const profile = response.data;
 
       const extracted = {
-        skills: uniqueSkills,
-        email: emails ? emails[0] : "",
-        phone: phones ? phones[0] : "",
-        yearsOfExperience,
-        name: extractedName,
-        rawText: text.substring(0, 500), // First 500 chars for debugging
+        skills: profile.skills || [],
+        yearsOfExperience: profile.yearsOfExperience || 0,
+        name: profile.fullName || "",
       };
 
       setExtractedData(extracted);
       onResumeExtracted(extracted);
 
-      if (uniqueSkills.length > 0) {
-        toast.success(`Found ${uniqueSkills.length} skills in your resume!`, {
+      if (extracted.skills.length > 0) {
+        toast.success(`Found ${extracted.skills.length} skills in your resume!`, {
           position: "top-right",
         });
       } else {
@@ -254,7 +59,8 @@ const ResumeUploader = ({ onResumeExtracted }) => {
     } catch (error) {
       console.error("Error extracting resume data:", error);
       toast.error(
-        "Could not extract text from file. Please try a .txt file or enter data manually.",
+        error.response?.data?.message ||
+          "Could not extract text from file. Please try a .txt file or enter data manually.",
         {
           position: "top-right",
         },
@@ -263,8 +69,6 @@ const ResumeUploader = ({ onResumeExtracted }) => {
       // Even on error, let user continue
       setExtractedData({
         skills: [],
-        email: "",
-        phone: "",
         yearsOfExperience: 0,
         name: "",
       });
@@ -420,13 +224,6 @@ const ResumeUploader = ({ onResumeExtracted }) => {
             </div>
           )}
 
-          {extractedData.email && (
-            <div>
-              <h4 className="font-medium text-gray-700">Email:</h4>
-              <p className="text-sm text-gray-600">{extractedData.email}</p>
-            </div>
-          )}
-
           <div className="bg-blue-50 border border-blue-200 rounded-lg p-3">
             <p className="text-sm text-blue-800">
               ✅ Data has been added to your profile form. Please review and
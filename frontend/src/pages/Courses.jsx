@@ -5,11 +5,20 @@ import CourseCard from "../components/CourseCard";
 import { toast } from "react-toastify";
 import { FiFilter, FiSearch } from "react-icons/fi";
 
+const PAGE_SIZE = 24;
+const SEARCH_DELAY_MS = 250;
+
 const Courses = () => {
   const [courses, setCourses] = useState([]);
-  const [filteredCourses, setFilteredCourses] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [page, setPage] = useState(0);
+  const [hasNext, setHasNext] = useState(false);
+  const [total, setTotal] = useState(0);
+  const [catalogStats, setCatalogStats] = useState({ total: 0, free: 0 });
   const [searchTerm, setSearchTerm] = useState("");
+  const [query, setQuery] = useState("");
+  const [suggestions, setSuggestions] = useState([]);
   const [selectedCategory, setSelectedCategory] = useState("All");
   const [selectedLevel, setSelectedLevel] = useState("All");
 
@@ -29,51 +38,76 @@ const Courses = () => {
   const levels = ["All", "Beginner", "Intermediate", "Advanced"];
 
   useEffect(() => {
-    loadCourses();
+    loadCatalogStats();
   }, []);
 
+  // Search runs once typing pauses, and suggestions follow every keystroke
+  useEffect(() => {
+    const timer = setTimeout(() => setQuery(searchTerm.trim()), SEARCH_DELAY_MS);
+    loadSuggestions(searchTerm);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
+
+  // Search text, category and level are all applied by the server, one page at a time
   useEffect(() => {
-    filterCourses();
-  }, [courses, searchTerm, selectedCategory, selectedLevel]);
+    loadCourses(0);
+  }, [selectedCategory, selectedLevel, query]);
 
-  const loadCourses = async () => {
+  const loadCatalogStats = async () => {
     try {
-      const response = await courseAPI.getAllCourses();
-      setCourses(response.data);
-      setFilteredCourses(response.data);
+      const [all, free] = await Promise.all([
+        courseAPI.searchCourses({ size: 1 }),
+        courseAPI.searchCourses({ free: true, size: 1 }),
+      ]);
+      setCatalogStats({
+        total: all.data.totalElements,
+        free: free.data.totalElements,
+      });
     } catch (err) {
-      toast.error("Failed to load courses");
-    } finally {
-      setLoading(false);
+      // Stats are decorative; the course list reports its own errors
     }
   };
 
-  const filterCourses = () => {
-    let filtered = courses;
-
-    if (searchTerm) {
-      filtered = filtered.filter(
-        (course) =>
-          course.title.toLowerCase().includes(searchTerm.toLowerCase()) ||
-          course.description.toLowerCase().includes(searchTerm.toLowerCase()),
-      );
+  const loadCourses = async (pageToLoad) => {
+    if (pageToLoad > 0) {
+      setLoadingMore(true);
     }
-
-    if (selectedCategory !== "All") {
-      filtered = filtered.filter(
-        (course) =>
-          course.category?.toLowerCase() === selectedCategory.toLowerCase(),
+    try {
+      const params = {
+        category: selectedCategory !== "All" ? selectedCategory : undefined,
+        difficulty: selectedLevel !== "All" ? selectedLevel : undefined,
+        page: pageToLoad,
+        size: PAGE_SIZE,
+      };
+      const response = query
+        ? await courseAPI.textSearch({ ...params, q: query })
+        : await courseAPI.searchCourses(params);
+      const result = response.data;
+      setCourses((prev) =>
+        pageToLoad === 0 ? result.items : [...prev, ...result.items],
       );
+      setPage(result.page);
+      setHasNext(result.hasNext);
+      setTotal(result.totalElements);
+    } catch (err) {
+      toast.error("Failed to load courses");
+    } finally {
+      setLoading(false);
+      setLoadingMore(false);
     }
+  };
 
-    if (selectedLevel !== "All") {
-      filtered = filtered.filter(
-        (course) =>
-          course.difficultyLevel?.toLowerCase() === selectedLevel.toLowerCase(),
-      );
+  const loadSuggestions = async (text) => {
+    if (!text.trim()) {
+      setSuggestions([]);
+      return;
+    }
+    try {
+      const response = await courseAPI.autocomplete(text);
+      setSuggestions(response.data);
+    } catch (err) {
+      // Suggestions are optional; searching still works without them
     }
-
-    setFilteredCourses(filtered);
   };
 
   if (loading) {
@@ -122,8 +156,14 @@ const Courses = () => {
                 placeholder="Search courses..."
                 value={searchTerm}
                 onChange={(e) => setSearchTerm(e.target.value)}
+                list="course-suggestions"
                 className="input-field pl-12"
               />
+              <datalist id="course-suggestions">
+                {suggestions.map((suggestion) => (
+                  <option key={suggestion} value={suggestion} />
+                ))}
+              </datalist>
             </div>
           </div>
 
@@ -176,14 +216,14 @@ const Courses = () => {
           <div className="mt-4 text-sm text-gray-600">
             Showing{" "}
             <span className="font-bold text-primary-600">
-              {filteredCourses.length}
+              {courses.length}
             </span>{" "}
-            of {courses.length} courses
+            of {total} courses
           </div>
         </motion.div>
 
         {/* Course Grid */}
-        {filteredCourses.length === 0 ? (
+        {courses.length === 0 ? (
           <motion.div
             initial={{ opacity: 0 }}
             animate={{ opacity: 1 }}
@@ -199,37 +239,43 @@ const Courses = () => {
           </motion.div>
         ) : (
           <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
-            {filteredCourses.map((course, index) => (
+            {courses.map((course, index) => (
               <CourseCard key={course.id} course={course} index={index} />
             ))}
           </div>
         )}
 
+        {hasNext && (
+          <div className="text-center mt-8">
+            <button
+              onClick={() => loadCourses(page + 1)}
+              disabled={loadingMore}
+              className="btn-primary"
+            >
+              {loadingMore ? "Loading..." : "Load more courses"}
+            </button>
+          </div>
+        )}
+
         {/* Stats */}
         <motion.div
           initial={{ opacity: 0, y: 20 }}
           animate={{ opacity: 1, y: 0 }}
           transition={{ delay: 0.4 }}
-          className="grid grid-cols-1 md:grid-cols-4 gap-6 mt-12"
+          className="grid grid-cols-1 md:grid-cols-3 gap-6 mt-12"
         >
           <div className="card-gradient text-center">
             <div className="text-4xl font-bold text-primary-600">
-              {courses.length}
+              {catalogStats.total}
             </div>
             <p className="text-gray-600 mt-2">Total Courses</p>
           </div>
           <div className="card-gradient text-center">
             <div className="text-4xl font-bold text-green-600">
-              {courses.filter((c) => c.isFree).length}
+              {catalogStats.free}
             </div>
             <p className="text-gray-600 mt-2">Free Courses</p>
           </div>
-          <div className="card-gradient text-center">
-            <div className="text-4xl font-bold text-purple-600">
-              {new Set(courses.map((c) => c.provider)).size}
-            </div>
-            <p className="text-gray-600 mt-2">Platforms</p>
-          </div>
           <div className="card-gradient text-center">
             <div className="text-4xl font-bold text-orange-600">4.7</div>
             <p className="text-gray-600 mt-2">Avg Rating</p>
@@ -18,6 +18,7 @@ const Profile = () => {
   });
   const [loading, setLoading] = useState(true);
   const [saving, setSaving] = useState(false);
+  const [hasProfile, setHasProfile] = useState(false);
 
   useEffect(() => {
     loadProfile();
@@ -35,6 +36,7 @@ const Profile = () => {
         yearsOfExperience: profile.yearsOfExperience || 0,
         skills: profile.skills?.join(", ") || "",
       });
+      setHasProfile(true);
     } catch (error) {
       console.log("No profile found, creating new one");
     } finally {
@@ -92,7 +94,12 @@ const Profile = () => {
           .filter((s) => s),
       };
 
-      await profileAPI.createOrUpdateProfile(user.userId, profileData);
+      if (hasProfile) {
+        await profileAPI.patchProfile(user.userId, profileData);
+      } else {
+        await profileAPI.createOrUpdateProfile(user.userId, profileData);
+        setHasProfile(true);
+      }
       toast.success("Profile saved successfully!", {
         position: "top-right",
         autoClose: 3000,
@@ -21,11 +21,31 @@ const Recommendations = () => {
   const [profile, setProfile] = useState(null);
   const [loading, setLoading] = useState(true);
   const [generating, setGenerating] = useState(false);
+  const [streamText, setStreamText] = useState("");
+  const [matchedCourses, setMatchedCourses] = useState([]);
 
   useEffect(() => {
     loadData();
   }, []);
 
+  useEffect(() => {
+    if (recommendation) {
+      loadMatchedCourses();
+    }
+  }, [recommendation?.id]);
+
+  const loadMatchedCourses = async () => {
+    const years = profile?.yearsOfExperience ?? 0;
+    const level = years < 2 ? "Beginner" : years < 5 ? "Intermediate" : "Advanced";
+    try {
+      const response = await careerAPI.getMatchedCourses(user.userId, level);
+      setMatchedCourses(response.data);
+    } catch (err) {
+      // Catalog matches are an extra; the AI suggestions still show
+      setMatchedCourses([]);
+    }
+  };
+
   const loadData = async () => {
     try {
       // Load profile
@@ -46,12 +66,47 @@ const Recommendations = () => {
     }
   };
 
-  const handleGenerate = async () => {
+  const waitForJob = async (job) => {
+    // Generation runs as a background job on the server; poll until it settles
+    while (job.status === "PENDING") {
+      await new Promise((resolve) => setTimeout(resolve, 1500));
+      const jobRes = await careerAPI.getRecommendationJob(user.userId, job.jobId);
+      job = jobRes.data;
+    }
+    if (job.status !== "COMPLETED") {
+      throw new Error(job.error || "Recommendation job failed");
+    }
+    return job.recommendation;
+  };
+
+  // Without force, an unchanged profile gets its current recommendation back
+  const handleGenerate = async (force = false) => {
     setGenerating(true);
+    setStreamText("");
 
     try {
-      const response = await careerAPI.generateRecommendation(user.userId);
-      setRecommendation(response.data);
+      let result;
+      try {
+        // Stream tokens so the user sees progress right away
+        result = await careerAPI.streamRecommendation(
+          user.userId,
+          (token) => setStreamText((text) => text + token),
+          force,
+        );
+      } catch (streamErr) {
+        if (streamErr.response) throw streamErr;
+        // Streaming unsupported or interrupted: fall back to a background job
+        const response = await careerAPI.generateRecommendation(user.userId, force);
+        result = await waitForJob(response.data);
+      }
+      if (!force && result.id === recommendation?.id) {
+        toast.info(
+          "Your profile hasn't changed since these recommendations. Use Regenerate for fresh ones.",
+          { position: "top-right", autoClose: 4000 },
+        );
+        return;
+      }
+      setRecommendation(result);
       toast.success("🎉 New recommendations generated!", {
         position: "top-right",
         autoClose: 3000,
@@ -64,6 +119,7 @@ const Recommendations = () => {
       }
     } finally {
       setGenerating(false);
+      setStreamText("");
     }
   };
 
@@ -97,18 +153,41 @@ const Recommendations = () => {
             </p>
           </div>
 
-          <motion.button
-            whileHover={{ scale: 1.05 }}
-            whileTap={{ scale: 0.95 }}
-            onClick={handleGenerate}
-            disabled={generating}
-            className="btn-primary mt-4 md:mt-0 flex items-center space-x-2"
-          >
-            <FiRefreshCw className={generating ? "animate-spin" : ""} />
-            <span>{generating ? "Generating..." : "Generate New"}</span>
-          </motion.button>
+          <div className="flex items-center space-x-3 mt-4 md:mt-0">
+            <motion.button
+              whileHover={{ scale: 1.05 }}
+              whileTap={{ scale: 0.95 }}
+              onClick={() => handleGenerate()}
+              disabled={generating}
+              className="btn-primary flex items-center space-x-2"
+            >
+              <FiRefreshCw className={generating ? "animate-spin" : ""} />
+              <span>{generating ? "Generating..." : "Generate New"}</span>
+            </motion.button>
+            {recommendation && (
+              <motion.button
+                whileHover={{ scale: 1.05 }}
+                whileTap={{ scale: 0.95 }}
+                onClick={() => handleGenerate(true)}
+                disabled={generating}
+                title="Ask the AI again even if your profile hasn't changed"
+                className="btn-secondary"
+              >
+                Regenerate
+              </motion.button>
+            )}
+          </div>
         </motion.div>
 
+        {generating && streamText && (
+          <div className="card-gradient mb-8">
+            <p className="text-sm text-gray-500 mb-2">Writing your recommendations...</p>
+            <pre className="whitespace-pre-wrap break-words text-sm text-gray-700 max-h-48 overflow-y-auto">
+              {streamText}
+            </pre>
+          </div>
+        )}
+
         {!recommendation ? (
           <motion.div
             initial={{ opacity: 0, scale: 0.9 }}
@@ -132,7 +211,7 @@ const Recommendations = () => {
             <motion.button
               whileHover={{ scale: 1.05 }}
               whileTap={{ scale: 0.95 }}
-              onClick={handleGenerate}
+              onClick={() => handleGenerate()}
               disabled={generating}
               className="btn-primary text-lg"
             >
@@ -294,6 +373,48 @@ const Recommendations = () => {
                   </motion.div>
                 ))}
               </div>
+
+              {matchedCourses.length > 0 && (
+                <div className="mt-8">
+                  <h4 className="text-lg font-semibold text-gray-800 mb-4">
+                    From our catalog
+                  </h4>
+                  <div className="space-y-3">
+                    {matchedCourses.map((match) => (
+                      <a
+                        key={match.course.id}
+                        href={match.course.courseUrl}
+                        target="_blank"
+                        rel="noopener noreferrer"
+                        className="flex items-start justify-between p-4 bg-white rounded-lg border border-gray-200 hover:shadow-lg transition-all duration-200 group"
+                      >
+                        <div className="flex-1">
+                          <p className="font-medium text-gray-900 group-hover:text-primary-600 transition-colors">
+                            {match.course.title}
+                          </p>
+                          <p className="text-sm text-gray-600 mt-1">
+                            {match.course.provider}
+                            {match.course.difficultyLevel &&
+                              ` · ${match.course.difficultyLevel}`}
+                            {match.course.isFree && " · Free"}
+                          </p>
+                          <div className="flex flex-wrap gap-2 mt-2">
+                            {match.matchedSkills.map((skill) => (
+                              <span
+                                key={skill}
+                                className="px-2 py-1 text-xs rounded-full bg-green-100 text-green-700"
+                              >
+                                {skill}
+                              </span>
+                            ))}
+                          </div>
+                        </div>
+                        <FiExternalLink className="text-primary-500 opacity-0 group-hover:opacity-100 transition-opacity mt-1" />
+                      </a>
+                    ))}
+                  </div>
+                </div>
+              )}
             </motion.div>
 
             {/* Project Ideas */}
@@ -48,16 +48,90 @@ export const profileAPI = {
   getProfile: (userId) => api.get(`/profile/user/${userId}`),
   createOrUpdateProfile: (userId, profileData) =>
     api.post(`/profile/user/${userId}`, profileData),
+  // Only the fields present are changed; an identical profile is not rewritten
+  patchProfile: (userId, profileData) =>
+    api.patch(`/profile/user/${userId}`, profileData),
+  // Returns a pre-filled profile extracted from a PDF or text resume; nothing is saved
+  parseResume: (userId, file) => {
+    const formData = new FormData();
+    formData.append("file", file);
+    return api.post(`/profile/user/${userId}/resume`, formData, {
+      headers: { "Content-Type": "multipart/form-data" },
+    });
+  },
 };
 
 // Career API
 export const careerAPI = {
-  generateRecommendation: (userId) =>
-    api.post(`/career/recommendations/${userId}`),
+  // Without force, an unchanged profile gets its latest recommendation back
+  generateRecommendation: (userId, force = false) =>
+    api.post(`/career/recommendations/${userId}`, null, { params: { force } }),
+  getRecommendationJob: (userId, jobId) =>
+    api.get(`/career/recommendations/${userId}/jobs/${jobId}`),
+  // Streams generation over SSE; calls onToken with each partial chunk and
+  // resolves with the saved recommendation. Uses fetch because axios and
+  // EventSource can't read a streamed POST response with an auth header.
+  streamRecommendation: async (userId, onToken, force = false) => {
+    const response = await fetch(
+      `${API_BASE_URL}/career/recommendations/${userId}/stream?force=${force}`,
+      {
+        method: "POST",
+        headers: {
+          Accept: "text/event-stream",
+          Authorization: `Bearer ${sessionStorage.getItem("token")}`,
+        },
+      },
+    );
+    if (!response.ok) {
+      const error = new Error("Failed to stream recommendations");
+      error.response = { status: response.status };
+      throw error;
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = "";
+    let recommendation = null;
+
+    for (;;) {
+      const { done, value } = await reader.read();
+      if (done) break;
+      buffer += decoder.decode(value, { stream: true });
+
+      // Events are separated by a blank line
+      let boundary;
+      while ((boundary = buffer.indexOf("\n\n")) !== -1) {
+        const frame = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+
+        let event = "message";
+        const data = [];
+        for (const line of frame.split("\n")) {
+          if (line.startsWith("event:")) event = line.slice(6).trim();
+          else if (line.startsWith("data:")) data.push(line.slice(5));
+        }
+        if (event === "token") onToken?.(data.join("\n"));
+        else if (event === "recommendation")
+          recommendation = JSON.parse(data.join("\n"));
+      }
+    }
+
+    if (!recommendation) {
+      throw new Error("Stream ended without a recommendation");
+    }
+    return recommendation;
+  },
   getLatestRecommendation: (userId) =>
     api.get(`/career/recommendations/${userId}/latest`),
+  // Catalog courses for the latest recommendation's missing skills
+  getMatchedCourses: (userId, level) =>
+    api.get(`/career/recommendations/${userId}/courses`, { params: { level } }),
   getAllRecommendations: (userId) =>
     api.get(`/career/recommendations/${userId}/all`),
+  getRecommendationHistory: (userId, cursor, limit = 20) =>
+    api.get(`/career/recommendations/${userId}/history`, {
+      params: { cursor, limit },
+    }),
 };
 
 // Course API
@@ -65,11 +139,26 @@ export const courseAPI = {
   getAllCourses: () => api.get("/courses"),
   getCourseById: (id) => api.get(`/courses/${id}`),
   getCoursesByCategory: (category) => api.get(`/courses/category/${category}`),
+  // params: category, difficulty, provider, free, minRating, sort, page, size
+  searchCourses: (params) => api.get("/courses/search", { params }),
+  // params: q, category, difficulty, page, size; ranked by relevance
+  textSearch: (params) => api.get("/courses/search/text", { params }),
+  autocomplete: (prefix) =>
+    api.get("/courses/autocomplete", { params: { prefix, limit: 8 } }),
 };
 
 // Admin API
 export const adminAPI = {
   createCourse: (courseData) => api.post("/admin/courses", courseData),
+  // file: a CSV (with header row) or NDJSON File; sent as the raw body
+  importCourses: (file) =>
+    api.post("/admin/courses/import", file, {
+      headers: {
+        "Content-Type": file.name.toLowerCase().endsWith(".csv")
+          ? "text/csv"
+          : "application/x-ndjson",
+      },
+    }),
   createSkill: (skillData) => api.post("/admin/skills", skillData),
   getAllSkills: () => api.get("/admin/skills"),
 };